@@ -43,11 +43,19 @@ public final class ReactorAsyncAwaitBridge {
     }
     
     public static <T> AsyncGenerator<T> createGenerator(Flux<? extends T> coldFlux, Scheduler asyncAwaitScheduler) {
-        return createGenerator(coldFlux, 1L, asyncAwaitScheduler);
+        return createGenerator(coldFlux, 1L, AsyncGenerator.Sink.DEFAULT_MAX_BATCH_SIZE, asyncAwaitScheduler);
     }
     
     public static <T> AsyncGenerator<T> createGenerator(Flux<? extends T> coldFlux, long batchSize, Scheduler asyncAwaitScheduler) {
-        return AsyncGenerator.lazyEmit(asyncAwaitScheduler, batchSize, sink -> {
+        return createGenerator(coldFlux, batchSize, batchSize, asyncAwaitScheduler);
+    }
+    
+    /**
+     * Creates generator that requests items from the flux in batches of adaptive size 
+     * between <code>minBatchSize</code> and <code>maxBatchSize</code>
+     */
+    public static <T> AsyncGenerator<T> createGenerator(Flux<? extends T> coldFlux, long minBatchSize, long maxBatchSize, Scheduler asyncAwaitScheduler) {
+        return AsyncGenerator.lazyEmit(asyncAwaitScheduler, minBatchSize, maxBatchSize, sink -> {
             coldFlux.subscribe(new BaseSubscriber<T>() {
                 @Override
                 protected void hookOnSubscribe(Subscription subscription) {
@@ -25,13 +25,14 @@
 package net.tascalate.async.reactor;
 
 import java.util.EnumSet;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 import net.tascalate.async.Scheduler;
-import reactor.core.publisher.Mono;
+import net.tascalate.async.core.CompletionStageHelper;
+import net.tascalate.async.core.RestrictedCompletableFuture;
+import reactor.core.Disposable;
 
 public class ReactorSchedulerAdapter implements Scheduler {
     private final reactor.core.scheduler.Scheduler delegate;
@@ -58,12 +59,120 @@ public class ReactorSchedulerAdapter implements Scheduler {
     
     @Override
     public CompletionStage<?> schedule(Runnable runnable) {
-        return Mono.just(runnable)
-                   .subscribeOn(delegate)
-                   .map(r -> {
-                       r.run();
-                       return Optional.empty();
-                   })
-                   .toFuture();
+        return schedule(delegate::schedule, runnable);
+    }
+    
+    /**
+     * Creates a scheduler that runs all resumes on the single dedicated {@link reactor.core.scheduler.Scheduler.Worker}, 
+     * i.e. in order and on the same thread for most Reactor schedulers. The worker must be disposed 
+     * once the async method(s) that use it complete, see {@link #withPinnedWorker(Function)}
+     */
+    public PinnedWorker pinWorker() {
+        return new PinnedWorker(delegate.createWorker(), contextualizer);
+    }
+    
+    /**
+     * Invokes the async method(s) with the scheduler pinned to a single worker and
+     * disposes the worker when the resulting stage completes
+     */
+    public <T> CompletionStage<T> withPinnedWorker(Function<? super Scheduler, ? extends CompletionStage<T>> asyncCall) {
+        PinnedWorker scheduler = pinWorker();
+        CompletionStage<T> result;
+        try {
+            result = asyncCall.apply(scheduler);
+        } catch (RuntimeException | Error ex) {
+            scheduler.dispose();
+            throw ex;
+        }
+        result.whenComplete((r, e) -> scheduler.dispose());
+        return result;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s[delegate=%s]", getClass().getSimpleName(), delegate);
+    }
+    
+    static CompletionStage<?> schedule(Function<Runnable, Disposable> target, Runnable runnable) {
+        DisposableFuture result = new DisposableFuture();
+        Runnable wrapped = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    runnable.run();
+                    CompletionStageHelper.completeSuccess(result, null);
+                } catch (Throwable ex) {
+                    // Reported via the stage only, not via Reactor error hooks
+                    CompletionStageHelper.completeFailure(result, ex);
+                }
+            }
+        };
+        result.setDisposable(target.apply(wrapped));
+        return result;
+    }
+    
+    public static class PinnedWorker implements Scheduler, Disposable {
+        private final reactor.core.scheduler.Scheduler.Worker worker;
+        private final Function<? super Runnable, ? extends Runnable> contextualizer;
+        
+        PinnedWorker(reactor.core.scheduler.Scheduler.Worker worker, Function<? super Runnable, ? extends Runnable> contextualizer) {
+            this.worker = worker;
+            this.contextualizer = contextualizer;
+        }
+        
+        @Override
+        public Set<Characteristics> characteristics() {
+            return EnumSet.of(Scheduler.Characteristics.INTERRUPTIBLE);
+        }
+        
+        @Override
+        public Runnable contextualize(Runnable resumeContinuation) {
+            return contextualizer.apply(resumeContinuation);
+        }
+        
+        @Override
+        public CompletionStage<?> schedule(Runnable runnable) {
+            return ReactorSchedulerAdapter.schedule(worker::schedule, runnable);
+        }
+
+        @Override
+        public void dispose() {
+            worker.dispose();
+        }
+        
+        @Override
+        public boolean isDisposed() {
+            return worker.isDisposed();
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[worker=%s]", getClass().getSimpleName(), worker);
+        }
+    }
+    
+    static final class DisposableFuture extends RestrictedCompletableFuture<Void> {
+        private volatile Disposable disposable;
+        
+        void setDisposable(Disposable disposable) {
+            this.disposable = disposable;
+            if (isCancelled()) {
+                // Cancelled before the task was submitted
+                disposable.dispose();
+            }
+        }
+        
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (super.cancel(mayInterruptIfRunning)) {
+                Disposable d = disposable;
+                if (null != d) {
+                    d.dispose();
+                }
+                return true;
+            } else {
+                return false;
+            }
+        }
     }
 }
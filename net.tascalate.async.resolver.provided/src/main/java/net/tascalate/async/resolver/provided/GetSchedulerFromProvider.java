@@ -24,6 +24,7 @@
  */
 package net.tascalate.async.resolver.provided;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 
 import org.kohsuke.MetaInfServices;
@@ -63,8 +64,78 @@ public class GetSchedulerFromProvider implements SchedulerResolver {
         }
     }
     
+    @Override
+    public SchedulerResolver bind(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+        // Accessors depend on the lookup class only, so the search is done once per call site
+        if (null == ownerClassLookup) {
+            return SchedulerResolver.none();
+        }
+        SchedulerResolver hinted = bindByHints(owner, ownerClassLookup, methodDef);
+        if (null != hinted) {
+            return hinted;
+        }
+        if (null != owner) {
+            SchedulerProviderLookup.InstanceAccessor iAccessor = lookup.getInstanceAccessor(ownerClassLookup);
+            if (null != iAccessor) {
+                return bound(iAccessor);
+            }
+        }
+        SchedulerProviderLookup.ClassAccessor cAccessor = lookup.getClassAccessor(ownerClassLookup);
+        return null == cAccessor ? SchedulerResolver.none() : bound(cAccessor);
+    }
+    
+    private SchedulerResolver bindByHints(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+        if (null == methodDef) {
+            return null;
+        }
+        // Enhancer reports provider only when it's the single one declared by the lookup class itself,
+        // i.e. exactly the one found first by the reflective search. The class provider is not 
+        // usable for instance methods, inherited instance provider has precedence over it.
+        if (null != owner) {
+            MethodHandle iGetter = methodDef.getHint(MethodDefinition.INSTANCE_SCHEDULER_PROVIDER_HINT, MethodHandle.class);
+            SchedulerProviderLookup.InstanceAccessor iAccessor = null == iGetter ? null :
+                SchedulerProviderLookup.instanceAccessorOf(iGetter, ownerClassLookup);
+            return null == iAccessor ? null : bound(iAccessor);
+        } else {
+            MethodHandle cGetter = methodDef.getHint(MethodDefinition.CLASS_SCHEDULER_PROVIDER_HINT, MethodHandle.class);
+            SchedulerProviderLookup.ClassAccessor cAccessor = null == cGetter ? null :
+                SchedulerProviderLookup.classAccessorOf(cGetter, ownerClassLookup);
+            return null == cAccessor ? null : bound(cAccessor);
+        }
+    }
+    
+    private SchedulerResolver bound(SchedulerProviderLookup.InstanceAccessor iAccessor) {
+        return new BoundResolver() {
+            @Override
+            public Scheduler resolve(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+                return iAccessor.read(owner);
+            }
+        };
+    }
+    
+    private SchedulerResolver bound(SchedulerProviderLookup.ClassAccessor cAccessor) {
+        return new BoundResolver() {
+            @Override
+            public Scheduler resolve(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+                return cAccessor.read();
+            }
+        };
+    }
+    
     @Override
     public String toString() {
         return String.format("%s[priority=%d, lookup=%s]", getClass().getSimpleName(), priority(), lookup);
     }
+    
+    abstract class BoundResolver implements SchedulerResolver {
+        @Override
+        public int priority() {
+            return GetSchedulerFromProvider.this.priority();
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[origin=%s]", getClass().getSimpleName(), GetSchedulerFromProvider.this);
+        }
+    }
 }
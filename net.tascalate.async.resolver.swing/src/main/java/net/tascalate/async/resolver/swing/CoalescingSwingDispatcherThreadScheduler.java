@@ -0,0 +1,163 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.resolver.swing;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import javax.swing.SwingUtilities;
+
+import net.tascalate.async.core.CompletionStageHelper;
+import net.tascalate.async.core.RestrictedCompletableFuture;
+import net.tascalate.async.scheduler.AbstractScheduler;
+
+/**
+ * Swing scheduler that posts a single event for all resumes queued so far 
+ * rather than an event per resume. One event runs queued resumes until the 
+ * queue is empty or the time budget is exhausted, the rest is handled by 
+ * the next event, so other UI events are not starved.
+ * <p>The stage returned from {@link #schedule(Runnable)} is shared by all 
+ * resumes of the batch and is completed when the whole batch is done.
+ */
+public class CoalescingSwingDispatcherThreadScheduler extends AbstractScheduler {
+    
+    private static final long DEFAULT_BATCH_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(8);
+    
+    private final Executor dispatcher;
+    private final BooleanSupplier isDispatcherThread;
+    private final long batchBudgetNanos;
+    
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Batch> pendingBatch = new AtomicReference<>();
+    
+    public CoalescingSwingDispatcherThreadScheduler() {
+        this(DEFAULT_BATCH_BUDGET_NANOS, TimeUnit.NANOSECONDS);
+    }
+    
+    public CoalescingSwingDispatcherThreadScheduler(long batchBudget, TimeUnit unit) {
+        this(batchBudget, unit, null);
+    }
+    
+    public CoalescingSwingDispatcherThreadScheduler(long batchBudget, TimeUnit unit, Function<? super Runnable, ? extends Runnable> contextualizer) {
+        this(SwingUtilities::invokeLater, SwingUtilities::isEventDispatchThread, batchBudget, unit, null, contextualizer);
+    }
+    
+    /**
+     * @param dispatcher posts event to the dispatcher thread, normally {@link SwingUtilities#invokeLater(Runnable)}
+     * @param isDispatcherThread checks whether current thread is the dispatcher thread, normally {@link SwingUtilities#isEventDispatchThread()}
+     */
+    public CoalescingSwingDispatcherThreadScheduler(Executor dispatcher, 
+                                                    BooleanSupplier isDispatcherThread,
+                                                    long batchBudget, TimeUnit unit,
+                                                    Set<Characteristics> characteristics, 
+                                                    Function<? super Runnable, ? extends Runnable> contextualizer) {
+        super(ensureNonInterruptibleCharacteristic(characteristics), contextualizer);
+        if (batchBudget <= 0) {
+            throw new IllegalArgumentException("Batch budget must be positive, but was " + batchBudget);
+        }
+        this.dispatcher = dispatcher;
+        this.isDispatcherThread = isDispatcherThread;
+        this.batchBudgetNanos = unit.toNanos(batchBudget);
+    }
+
+    @Override
+    public CompletionStage<?> schedule(Runnable command) {
+        if (queue.isEmpty() && isDispatcherThread.getAsBoolean()) {
+            // Nothing is queued before, so it's safe to run in-place like SwingDispatcherThreadScheduler
+            command.run();
+            return CompletableFuture.completedFuture(null);
+        }
+        queue.offer(command);
+        while (true) {
+            Batch batch = pendingBatch.get();
+            if (null != batch) {
+                // Batch is not started yet, so it will see the command just queued
+                return batch.result;
+            }
+            batch = new Batch();
+            if (pendingBatch.compareAndSet(null, batch)) {
+                dispatcher.execute(batch);
+                return batch.result;
+            }
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return super.toString() + String.format("[batch-budget=%dns, queued=%d]", batchBudgetNanos, queue.size());
+    }
+
+    final class Batch implements Runnable {
+        final RestrictedCompletableFuture<?> result = new RestrictedCompletableFuture<>();
+        private Throwable error;
+        
+        @Override
+        public void run() {
+            // New commands will start a new batch from now on
+            pendingBatch.compareAndSet(this, null);
+            
+            long deadline = System.nanoTime() + batchBudgetNanos;
+            Runnable command;
+            while (null != (command = queue.poll())) {
+                try {
+                    command.run();
+                } catch (Throwable ex) {
+                    if (null == error) {
+                        error = ex;
+                    } else {
+                        error.addSuppressed(ex);
+                    }
+                }
+                if (System.nanoTime() - deadline > 0 && !queue.isEmpty()) {
+                    // Yield to other UI events, continue with the same batch afterwards
+                    dispatcher.execute(this);
+                    return;
+                }
+            }
+            if (null == error) {
+                CompletionStageHelper.completeSuccess(result, null);
+            } else {
+                CompletionStageHelper.completeFailure(result, error);
+            }
+        }
+    }
+    
+    private static Set<Characteristics> ensureNonInterruptibleCharacteristic(Set<Characteristics> characteristics) {
+        if (null == characteristics) {
+            return characteristics;
+        } else if (characteristics.contains(Characteristics.INTERRUPTIBLE)) {
+            throw new IllegalArgumentException("Characteristics must not contain " + Characteristics.INTERRUPTIBLE);
+        }
+        return characteristics;
+    }
+}
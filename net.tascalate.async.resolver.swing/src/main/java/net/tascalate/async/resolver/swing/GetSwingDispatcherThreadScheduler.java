@@ -37,7 +37,12 @@ import net.tascalate.async.spi.SchedulerResolver;
 @MetaInfServices
 public class GetSwingDispatcherThreadScheduler implements SchedulerResolver {
 
-    private final Scheduler swingDispatcherThreadScheduler = new SwingDispatcherThreadScheduler(); 
+    private static final boolean COALESCE_RESUMES = Boolean.getBoolean("net.tascalate.async.swing.coalesce-resumes");
+    
+    private final Scheduler swingDispatcherThreadScheduler = COALESCE_RESUMES ?
+        new CoalescingSwingDispatcherThreadScheduler()
+        :
+        new SwingDispatcherThreadScheduler(); 
     
     @Override
     public int priority() {
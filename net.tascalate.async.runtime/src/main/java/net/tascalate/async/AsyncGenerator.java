@@ -24,7 +24,10 @@
  */
 package net.tascalate.async;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.BiFunction;
@@ -35,6 +38,7 @@ import java.util.stream.StreamSupport;
 
 import net.tascalate.async.sequence.CancelPolicy;
 import net.tascalate.async.sequence.FutureCompletionSequence;
+import net.tascalate.async.sequence.MapAsyncSequence;
 import net.tascalate.async.sequence.OrderedSequence;
 
 public interface AsyncGenerator<T> extends CustomizableSequence<CompletionStage<T>> { 
@@ -54,8 +58,13 @@ public interface AsyncGenerator<T> extends CustomizableSequence<CompletionStage<
     }
 
     public static final class Sink<T> extends AsyncGeneratorSinkBase<T> {
-        Sink(long batchSize, Scheduler scheduler) {
-            super(batchSize, scheduler);
+        /**
+         * Upper bound of the adaptive batch size used by default
+         */
+        public static final long DEFAULT_MAX_BATCH_SIZE = 256;
+        
+        Sink(long minBatchSize, long maxBatchSize, Scheduler scheduler) {
+            super(minBatchSize, maxBatchSize, scheduler);
         }
     }
     
@@ -71,6 +80,32 @@ public interface AsyncGenerator<T> extends CustomizableSequence<CompletionStage<
         }
     }
     
+    /**
+     * Item of the {@link AsyncGenerator#select(List, Scheduler)} along with the index of its source
+     */
+    public static final class Selection<T> {
+        private final int source;
+        private final T value;
+        
+        Selection(int source, T value) {
+            this.source = source;
+            this.value = value;
+        }
+        
+        public int source() {
+            return source;
+        }
+        
+        public T value() {
+            return value;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[source=%d, value=%s]", getClass().getSimpleName(), source, value);
+        }
+    }
+    
     Values<T> values();
     
     abstract Scheduler scheduler();
@@ -86,6 +121,42 @@ public interface AsyncGenerator<T> extends CustomizableSequence<CompletionStage<
     default AsyncGenerator.Source<T> lazyFetch(Scheduler scheduler, Consumer<? super T> itemProcessor) {
         return lazyFetch(this,  scheduler, itemProcessor);
     }
+    
+    /**
+     * Operators over the values of this generator executed by the consumer, 
+     * without intermediate generators
+     */
+    default Pipeline<T> pipeline() {
+        return Pipeline.of(this);
+    }
+    
+    default AsyncGenerator<T> prefetch(int bufferSize) {
+        return prefetch(this, bufferSize, scheduler());
+    }
+    
+    /**
+     * Yields lists of up to <code>maxItems</code> items; incomplete list is yielded 
+     * when <code>maxDelay</code> is passed since its first item
+     */
+    default AsyncGenerator<List<T>> batch(int maxItems, Duration maxDelay) {
+        return batch(this, maxItems, maxDelay, scheduler());
+    }
+    
+    /**
+     * Maps items via <code>mapper</code> with at most <code>concurrency</code> 
+     * invocations in flight, results are produced in the order of this generator
+     */
+    default <R> AsyncGenerator<R> mapAsync(int concurrency, Function<? super T, ? extends CompletionStage<? extends R>> mapper) {
+        return DelegatingGenerator.start(mapAsync(this, concurrency, mapper), scheduler());
+    }
+    
+    /**
+     * Maps items via <code>mapper</code> with at most <code>concurrency</code> 
+     * invocations in flight, results are produced in the order of completion
+     */
+    default <R> AsyncGenerator<R> mapAsyncUnordered(int concurrency, Function<? super T, ? extends CompletionStage<? extends R>> mapper) {
+        return DelegatingGenerator.start(mapAsyncUnordered(this, concurrency, mapper), scheduler());
+    }
 
     @SuppressWarnings("unchecked")
     public static <T> AsyncYield<T> start() {
@@ -165,6 +236,18 @@ public interface AsyncGenerator<T> extends CustomizableSequence<CompletionStage<
         return FutureCompletionSequence.create(pendingValues, chunkSize, cancelPolicy);
     }
     
+    public static <T, R> Sequence<CompletionStage<R>> mapAsync(Sequence<? extends CompletionStage<? extends T>> pendingValues,
+                                                               int concurrency,
+                                                               Function<? super T, ? extends CompletionStage<? extends R>> mapper) {
+        return MapAsyncSequence.create(pendingValues, concurrency, true, mapper);
+    }
+    
+    public static <T, R> Sequence<CompletionStage<R>> mapAsyncUnordered(Sequence<? extends CompletionStage<? extends T>> pendingValues,
+                                                                        int concurrency,
+                                                                        Function<? super T, ? extends CompletionStage<? extends R>> mapper) {
+        return MapAsyncSequence.create(pendingValues, concurrency, false, mapper);
+    }
+    
     @SuppressWarnings("resource")
     public static <T> ConcurrentGenerator<T> concurrent(Sequence<? extends CompletionStage<? extends T>> promises, Scheduler scheduler) {
         return new ConcurrentGenerator<>(promises, scheduler).start();
@@ -174,12 +257,58 @@ public interface AsyncGenerator<T> extends CustomizableSequence<CompletionStage<
         return new Source<>(promises, scheduler, itemProcessor).start();
     }
     
+    /**
+     * Creates generator that fetches up to <code>bufferSize</code> items of the 
+     * <code>promises</code> ahead of its consumer
+     */
+    public static <T> AsyncGenerator<T> prefetch(Sequence<? extends CompletionStage<? extends T>> promises, int bufferSize, Scheduler scheduler) {
+        return new PrefetchingGenerator<T>(promises, bufferSize, scheduler).start();
+    }
+    
+    public static <T> AsyncGenerator<List<T>> batch(Sequence<? extends CompletionStage<? extends T>> promises, int maxItems, Duration maxDelay, Scheduler scheduler) {
+        return new BatchingGenerator<T>(promises, maxItems, maxDelay, scheduler).start();
+    }
+    
+    @SafeVarargs
+    public static <T> AsyncGenerator<T> merge(Sequence<? extends CompletionStage<? extends T>>... sources) {
+        return merge(Arrays.asList(sources), null);
+    }
+    
+    /**
+     * Creates generator that yields items of all <code>sources</code> in the order they 
+     * become ready; the next item of the source is requested only after the previous 
+     * one is consumed
+     */
+    public static <T> AsyncGenerator<T> merge(List<? extends Sequence<? extends CompletionStage<? extends T>>> sources, Scheduler scheduler) {
+        return new MergingGenerator<T>(sources, false, scheduler).start();
+    }
+    
+    @SafeVarargs
+    public static <T> AsyncGenerator<Selection<T>> select(Sequence<? extends CompletionStage<? extends T>>... sources) {
+        return select(Arrays.asList(sources), null);
+    }
+    
+    /**
+     * Same as {@link #merge(List, Scheduler)} but every item carries the index of its source
+     */
+    public static <T> AsyncGenerator<Selection<T>> select(List<? extends Sequence<? extends CompletionStage<? extends T>>> sources, Scheduler scheduler) {
+        return new MergingGenerator<T>(sources, true, scheduler).start();
+    }
+    
     public static <T> AsyncGenerator<T> lazyEmit(Scheduler scheduler, Consumer<? super Sink<T>> subcriber) {
-        return lazyEmit(scheduler, 1L, subcriber);
+        return lazyEmit(scheduler, 1L, Sink.DEFAULT_MAX_BATCH_SIZE, subcriber);
     }
     
     public static <T> AsyncGenerator<T> lazyEmit(Scheduler scheduler, long batchSize, Consumer<? super Sink<T>> subcriber) {
-        Sink<T> emitter = new Sink<>(batchSize, scheduler);
+        return lazyEmit(scheduler, batchSize, batchSize, subcriber);
+    }
+    
+    /**
+     * Creates generator that requests items from the publisher in batches; the batch size
+     * is adapted to the consumer throughput and the publisher latency within the bounds given
+     */
+    public static <T> AsyncGenerator<T> lazyEmit(Scheduler scheduler, long minBatchSize, long maxBatchSize, Consumer<? super Sink<T>> subcriber) {
+        Sink<T> emitter = new Sink<>(minBatchSize, maxBatchSize, scheduler);
         subcriber.accept(emitter);
         return emitter.start();
     }
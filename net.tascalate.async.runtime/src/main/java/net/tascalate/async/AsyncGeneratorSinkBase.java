@@ -25,8 +25,7 @@
 package net.tascalate.async;
 
 import java.lang.invoke.MethodHandles;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -34,7 +33,9 @@ import java.util.function.LongConsumer;
 
 import net.tascalate.async.core.AsyncGeneratorMethod;
 import net.tascalate.async.core.AsyncMethodExecutor;
+import net.tascalate.async.core.AwaitableQueue;
 import net.tascalate.async.core.InternalCallContext;
+import net.tascalate.async.core.ReadyItemSequence;
 import net.tascalate.async.spi.MethodDefinition;
 import net.tascalate.async.util.TypeUtil;
 
@@ -47,17 +48,28 @@ abstract class AsyncGeneratorSinkBase<T> {
     private volatile int subscribed = 0;
     
     private final CompletableFuture<?> subscription = new CompletableFuture<>();
-    private final AwaitableQueue<Command<T>> commands = new AwaitableQueue<>();
+    private final AwaitableQueue<Command<T>> commands;
     
-    private final long batchSize;
+    // Bounds of the adaptive request size
+    private final long minBatchSize;
+    private final long maxBatchSize;
     private final Scheduler scheduler;
     
     private LongConsumer requestItemsOp;
     private Runnable cancelOp;
     
-    AsyncGeneratorSinkBase(long batchSize, Scheduler scheduler) {
-        this.batchSize = batchSize;
+    AsyncGeneratorSinkBase(long minBatchSize, long maxBatchSize, Scheduler scheduler) {
+        if (minBatchSize < 1) {
+            throw new IllegalArgumentException("Min batch size must be positive: " + minBatchSize);
+        }
+        if (maxBatchSize < minBatchSize) {
+            throw new IllegalArgumentException("Max batch size " + maxBatchSize + " is less than min batch size " + minBatchSize);
+        }
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
         this.scheduler = scheduler;
+        // Publisher sends up to maxBatchSize items ahead
+        this.commands = new AwaitableQueue<>(AwaitableQueue.chunkSizeFor(maxBatchSize));
     }
     
     public void subscribe(LongConsumer requestItemsOp, Runnable cancelOp) {
@@ -98,23 +110,28 @@ abstract class AsyncGeneratorSinkBase<T> {
                 // If iteration starts before actual subscription happens - then do async wait
                 AsyncMethodExecutor.await(subscription, this);
                 
-                long unprocessed = 0;
+                long requestSize = minBatchSize;
+                long outstanding = 0;
                 
                 boolean skipCancel = false;
                 try {
                     outer:
                     while( true ) {
-                        // Request items if none left unprocessed
-                        if (unprocessed < 1) {
-                            unprocessed = batchSize;
-                            request(batchSize);
+                        // Replenish when 3/4 of requested items are received, 
+                        // so publisher doesn't wait for the whole batch to be consumed
+                        if (outstanding <= requestSize >> 2) {
+                            request(requestSize - outstanding);
+                            outstanding = requestSize;
                         }
                         
+                        // Consumer outpaces publisher if it has to wait for items
+                        boolean starved = commands.isEmpty();
                         commands.await(this);
                         
                         Command<T> command;
                         Batch<T> batch = new Batch<>();
                         Throwable error = null;
+                        long received = 0;
                         try {
                             while ((command = commands.poll()) != null) {
                                 if (command.isCompletion()) {
@@ -126,7 +143,7 @@ abstract class AsyncGeneratorSinkBase<T> {
                                     break outer;
                                 } else {
                                     batch.enlist(command.item());
-                                    unprocessed--;
+                                    received++;
                                 }
                             }
                         } finally {
@@ -141,6 +158,15 @@ abstract class AsyncGeneratorSinkBase<T> {
                                 InternalCallContext.sneakyThrow(error);
                             }
                         }
+                        outstanding -= received;
+                        
+                        if (starved) {
+                            // Upstream latency dominates -- ask for more per request
+                            requestSize = requestSize > maxBatchSize >> 1 ? maxBatchSize : requestSize << 1;
+                        } else if (received >= requestSize) {
+                            // Whole request was piled up while consumer was busy -- ask for less
+                            requestSize = Math.max(minBatchSize, requestSize >> 1);
+                        }
                     }
                 } finally {
                     if (!skipCancel) {
@@ -180,12 +206,12 @@ abstract class AsyncGeneratorSinkBase<T> {
     static final class Batch<T> {
         private boolean hasItem = false;
         private T singleItem;
-        private List<T> allItems;
+        private Chunk<T> allItems;
         
         void enlist(T item) {
             if (hasItem) {
                 if (null == allItems) {
-                    allItems = new LinkedList<>();
+                    allItems = new Chunk<>();
                     allItems.add(singleItem);
                 }
                 allItems.add(item);
@@ -208,8 +234,52 @@ abstract class AsyncGeneratorSinkBase<T> {
         }
         
         Sequence<CompletionStage<T>> items() {
-            return AsyncGenerator.from(allItems);
+            return allItems;
+        }
+    }
+    
+    /**
+     * Array-backed items of the batch, handed to the generator as a single sequence
+     * of ready items
+     */
+    static final class Chunk<T> extends ReadyItemSequence<T> {
+        private Object[] items = new Object[INITIAL_CHUNK_CAPACITY];
+        private int size;
+        private int position;
+        
+        void add(T item) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size << 1);
+            }
+            items[size++] = item;
+        }
+        
+        @Override
+        protected boolean hasNextItem() {
+            return position < size;
         }
+        
+        @Override
+        protected T nextItem() {
+            @SuppressWarnings("unchecked")
+            T item = (T)items[position];
+            items[position++] = null;
+            return item;
+        }
+        
+        @Override
+        public void close() {
+            position = size;
+            items = EMPTY_ITEMS;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[size=%d, position=%d]", getClass().getSimpleName(), size, position);
+        }
+        
+        private static final int INITIAL_CHUNK_CAPACITY = 16;
+        private static final Object[] EMPTY_ITEMS = new Object[0];
     }
     
     static final class EmitItem<T> extends Command<T> {
@@ -0,0 +1,161 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import net.tascalate.async.core.AsyncGeneratorMethod;
+import net.tascalate.async.core.AsyncMethodExecutor;
+import net.tascalate.async.core.AsyncTaskMethod;
+import net.tascalate.async.core.AwaitableQueue;
+import net.tascalate.async.spi.MethodDefinition;
+import net.tascalate.async.util.SharedTimer;
+
+/**
+ * Groups items of the source into lists of up to <code>maxItems</code>; a list is 
+ * yielded earlier when <code>maxDelay</code> is passed since its first item was received.
+ * The delay is tracked by the shared timer, the consumer just receives a tick via 
+ * the buffer of the items. 
+ * 
+ * @param <T> the type of items
+ */
+final class BatchingGenerator<T> {
+    
+    private final PrefetchingGenerator<T> prefetcher;
+    private final int maxItems;
+    private final long maxDelayNanos;
+    private final Scheduler scheduler;
+    
+    BatchingGenerator(Sequence<? extends CompletionStage<? extends T>> sequence, int maxItems, Duration maxDelay, Scheduler scheduler) {
+        if (maxItems < 1) {
+            throw new IllegalArgumentException("Max items must be positive: " + maxItems);
+        }
+        if (maxDelay.isNegative() || maxDelay.isZero()) {
+            throw new IllegalArgumentException("Max delay must be positive: " + maxDelay);
+        }
+        // Source runs ahead by one batch at most
+        this.prefetcher = new PrefetchingGenerator<>(sequence, maxItems, scheduler);
+        this.maxItems = maxItems;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.scheduler = scheduler;
+    }
+    
+    AsyncGenerator<List<T>> start() {
+        Scheduler resolvedScheduler = AsyncMethodExecutor.currentScheduler(scheduler, this, MethodHandles.lookup(), MD_START);
+        AwaitableQueue<Object> buffer = prefetcher.buffer;
+        AsyncTaskMethod<Void> producer = prefetcher.producer(resolvedScheduler);
+        AsyncGeneratorMethod<List<T>> consumer = new AsyncGeneratorMethod<List<T>>(resolvedScheduler) {
+            @Override
+            protected @suspendable void doRun() throws Throwable {
+                // Armed with the first item of the batch
+                Tick tick = null;
+                try {
+                    List<T> batch = new ArrayList<>();
+                    while (true) {
+                        buffer.await(this);
+                        
+                        Object entry;
+                        while ((entry = buffer.poll()) != null) {
+                            if (entry instanceof Tick) {
+                                if (entry == tick) {
+                                    tick = null;
+                                    emit(batch);
+                                    batch = new ArrayList<>();
+                                }
+                                // Otherwise stale tick of the batch that was full already
+                                continue;
+                            } else if (SequencePuller.END == entry) {
+                                if (!batch.isEmpty()) {
+                                    emit(batch);
+                                }
+                                return;
+                            } else if (entry instanceof SequencePuller.Failure) {
+                                // Items received so far are delivered before the error
+                                if (!batch.isEmpty()) {
+                                    emit(batch);
+                                }
+                            }
+                            // Re-throws the error of failure
+                            T item = SequencePuller.itemOf(entry);
+                            prefetcher.release();
+                            batch.add(item);
+                            if (batch.size() >= maxItems) {
+                                if (null != tick) {
+                                    tick.cancel();
+                                    tick = null;
+                                }
+                                emit(batch);
+                                batch = new ArrayList<>();
+                            } else if (null == tick) {
+                                tick = new Tick(buffer, maxDelayNanos);
+                            }
+                        }
+                    }
+                } finally {
+                    if (null != tick) {
+                        tick.cancel();
+                    }
+                    // No-op if producer is done already
+                    producer.future.cancel(true);
+                }
+            }
+        };
+        AsyncMethodExecutor.execute(consumer);
+        AsyncMethodExecutor.execute(producer);
+        return consumer.generator;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s[max-items=%d, max-delay=%dns, prefetcher=%s]", getClass().getSimpleName(), maxItems, maxDelayNanos, prefetcher);
+    }
+    
+    static final class Tick implements Runnable {
+        private final AwaitableQueue<Object> buffer;
+        private final ScheduledFuture<?> timer;
+        
+        Tick(AwaitableQueue<Object> buffer, long delayNanos) {
+            this.buffer = buffer;
+            this.timer = SharedTimer.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+        }
+        
+        @Override
+        public void run() {
+            buffer.offer(this);
+        }
+        
+        void cancel() {
+            timer.cancel(false);
+        }
+    }
+    
+    static final MethodDefinition MD_START = MethodDefinition.create("start", AsyncGenerator.class);
+}
@@ -40,10 +40,10 @@ import java.util.stream.Stream;
 import net.tascalate.async.concurrent.CombiningCompletionStage;
 import net.tascalate.async.core.AsyncMethodExecutor;
 import net.tascalate.async.core.AsyncTaskMethod;
+import net.tascalate.async.core.AwaitableQueue;
 import net.tascalate.async.core.InternalCallContext;
 import net.tascalate.async.core.RestrictedCompletableFuture;
 import net.tascalate.async.core.SequenceKind;
-import net.tascalate.async.core.SuspendableSequence;
 import net.tascalate.async.spi.MethodDefinition;
 
 public final class ConcurrentGenerator<T> implements AutoCloseable {
@@ -152,26 +152,7 @@ public final class ConcurrentGenerator<T> implements AutoCloseable {
                        RestrictedCompletableFuture<Result<T>> request;
                        while ((request = queue.poll()) != null) {
                            try {
-                               // Optimization of the following:
-                               // CompletionStage<? extends T> next = sequence.next();
-                               CompletionStage<? extends T> next;
-                               switch (kind) { 
-                                   case READY_VALUES:
-                                       next = SuspendableSequence.nextReadyValue(sequence);
-                                       break;
-                                   case SUSPENDABLE_CUSTOMIZABLE:
-                                   case SUSPENDABLE_REGULAR:                                   
-                                       next = SuspendableSequence.nextSuspendable(sequence, this); 
-                                       break;
-                                   case NON_SUSPENDABLE_CUSTOMIZABLE:
-                                   case NON_SUSPENDABLE_REGULAR:
-                                       next = sequence.next();
-                                       break;
-                                   default:
-                                       throw new IllegalStateException();
-                           
-                               }                               
-
+                               CompletionStage<? extends T> next = SequencePuller.next(sequence, kind, this);
                                if (null == next) {
                                    completeSuccess(request, Result.done());
                                    break outer;
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CompletionStage;
+
+import net.tascalate.async.core.AsyncGeneratorMethod;
+import net.tascalate.async.core.AsyncMethodExecutor;
+import net.tascalate.async.spi.MethodDefinition;
+
+/**
+ * Exposes a sequence of promises as a lazy {@link AsyncGenerator};
+ * closing the generator closes the sequence.
+ */
+final class DelegatingGenerator {
+    
+    private DelegatingGenerator() {}
+    
+    static <T> AsyncGenerator<T> start(Sequence<? extends CompletionStage<T>> sequence, Scheduler scheduler) {
+        Scheduler resolvedScheduler = AsyncMethodExecutor.currentScheduler(scheduler, null, MethodHandles.lookup(), MD_START);
+        AsyncGeneratorMethod<T> method = new AsyncGeneratorMethod<T>(resolvedScheduler) {
+            @Override
+            protected @suspendable void doRun() {
+                emit(sequence);
+            }
+        };
+        AsyncMethodExecutor.execute(method);
+        return method.generator;
+    }
+    
+    static final MethodDefinition MD_START = MethodDefinition.create("start", AsyncGenerator.class);
+}
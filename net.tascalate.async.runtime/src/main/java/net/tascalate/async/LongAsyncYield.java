@@ -24,35 +24,31 @@
  */
 package net.tascalate.async;
 
-import java.util.Queue;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CompletionStage;
 
-import net.tascalate.async.core.AbstractAsyncMethod;
-import net.tascalate.async.core.AsyncMethodExecutor;
-
-final class AwaitableQueue<T> {
-    private final Queue<T> items = new ConcurrentLinkedQueue<>();
-
-    private volatile CompletableFuture<?> currentAwaitingSignal = new CompletableFuture<>();
-
-    AwaitableQueue() {
-    }
+public final class LongAsyncYield {
     
-    @suspendable void await(AbstractAsyncMethod owner) {
-        AsyncMethodExecutor.await(currentAwaitingSignal, owner);
-    }
+    private LongAsyncYield() {}
     
-    T poll() {
-        T result = items.poll();
-        if (null == result) {
-            currentAwaitingSignal = new CompletableFuture<>();
-        }
-        return result;
+    public LongAsyncGenerator yield() {
+        return CallContext.methodCallMustBeReplaced();
     }
     
-    void offer(T item) {
-        items.offer(item);
-        currentAwaitingSignal.complete(null);
+    /**
+     * Yields ready value without boxing 
+     * @return parameter passed by consumer, if any
+     */
+    public @suspendable final Object yield(long readyValue) {
+        return CallContext.methodCallMustBeReplaced();
     }
+
+    public @suspendable final AsyncYield.Reply<Long> yield(CompletionStage<Long> pendingValue) {
+        return CallContext.methodCallMustBeReplaced();
+    }
+
+    public @suspendable final AsyncYield.Reply<Long> yield(Sequence<? extends CompletionStage<Long>> values) {
+        return CallContext.methodCallMustBeReplaced();
+    }
+    
+    static final LongAsyncYield INSTANCE = new LongAsyncYield();
 }
@@ -0,0 +1,175 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import net.tascalate.async.core.AsyncGeneratorMethod;
+import net.tascalate.async.core.AsyncMethodExecutor;
+import net.tascalate.async.core.AsyncSignal;
+import net.tascalate.async.core.AsyncTaskMethod;
+import net.tascalate.async.core.AwaitableQueue;
+import net.tascalate.async.core.InternalCallContext;
+import net.tascalate.async.core.SequenceKind;
+import net.tascalate.async.spi.MethodDefinition;
+
+/**
+ * Continuously merges several sources, yielding items in the order they become ready. 
+ * Every source has at most one item fetched ahead and is asked for the next one only 
+ * after the previous item was taken by the consumer, so a fast source can't starve 
+ * the others. Closing the resulting generator closes all sources.
+ * 
+ * @param <T> the type of items
+ */
+final class MergingGenerator<T> {
+    
+    private final Lane[] lanes;
+    private final boolean withSelection;
+    private final Scheduler scheduler;
+    // Lanes with a ready item, in order of readiness
+    private final AwaitableQueue<Lane> ready;
+    
+    MergingGenerator(List<? extends Sequence<? extends CompletionStage<? extends T>>> sources, 
+                     boolean withSelection, Scheduler scheduler) {
+        this.ready = new AwaitableQueue<>(AwaitableQueue.chunkSizeFor(sources.size()));
+        this.lanes = new Lane[sources.size()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i, sources.get(i), ready);
+        }
+        this.withSelection = withSelection;
+        this.scheduler = scheduler;
+    }
+    
+    <R> AsyncGenerator<R> start() {
+        Scheduler resolvedScheduler = AsyncMethodExecutor.currentScheduler(scheduler, this, MethodHandles.lookup(), MD_START);
+        AsyncTaskMethod<?>[] pullers = new AsyncTaskMethod<?>[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            pullers[i] = lanes[i].puller(resolvedScheduler);
+        }
+        AsyncGeneratorMethod<R> consumer = new AsyncGeneratorMethod<R>(resolvedScheduler) {
+            @Override
+            protected @suspendable void doRun() throws Throwable {
+                try {
+                    int active = lanes.length;
+                    while (active > 0) {
+                        ready.await(this);
+                        
+                        Lane lane;
+                        while ((lane = ready.poll()) != null) {
+                            Object entry = lane.item;
+                            lane.item = null;
+                            if (SequencePuller.END == entry) {
+                                active--;
+                                continue;
+                            }
+                            Object item = SequencePuller.itemOf(entry);
+                            // Request next item from this source only
+                            lane.demand.signal(null);
+                            
+                            @SuppressWarnings("unchecked")
+                            R result = withSelection ? (R)new AsyncGenerator.Selection<>(lane.index, item) : (R)item;
+                            emit(result);
+                        }
+                    }
+                } finally {
+                    // No-op for sources that are done already
+                    for (AsyncTaskMethod<?> puller : pullers) {
+                        puller.future.cancel(true);
+                    }
+                }
+            }
+        };
+        AsyncMethodExecutor.execute(consumer);
+        for (AsyncTaskMethod<?> puller : pullers) {
+            AsyncMethodExecutor.execute(puller);
+        }
+        return consumer.generator;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s[sources=%d, ready=%s]", getClass().getSimpleName(), lanes.length, ready);
+    }
+    
+    static final class Lane {
+        final int index;
+        final Sequence<? extends CompletionStage<?>> sequence;
+        final AwaitableQueue<Lane> ready;
+        final AsyncSignal<Void> demand = new AsyncSignal<>();
+        // At most one item in flight, published via the ready queue
+        Object item;
+        
+        Lane(int index, Sequence<? extends CompletionStage<?>> sequence, AwaitableQueue<Lane> ready) {
+            this.index = index;
+            this.sequence = sequence;
+            this.ready = ready;
+        }
+        
+        AsyncTaskMethod<Void> puller(Scheduler scheduler) {
+            return new AsyncTaskMethod<Void>(scheduler) {
+                @Override
+                protected @suspendable void doRun() {
+                    SequenceKind kind = SequenceKind.kindOf(sequence);
+                    try (Sequence<?> closeable = sequence) {
+                        while (true) {
+                            CompletionStage<?> futureItem = SequencePuller.next(sequence, kind, this);
+                            if (null == futureItem) {
+                                publish(SequencePuller.END);
+                                return;
+                            }
+                            
+                            Object value;
+                            try {
+                                value = AsyncMethodExecutor.await(futureItem, this);
+                            } catch (Throwable ex) {
+                                InternalCallContext.checkExitSignal(ex);
+                                publish(new SequencePuller.Failure(ex));
+                                return;
+                            }
+                            publish(SequencePuller.entryOf(value));
+                            
+                            demand.await(this);
+                            demand.reset();
+                        }
+                    }
+                }
+            };
+        }
+        
+        private void publish(Object entry) {
+            item = entry;
+            ready.offer(this);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[index=%d, sequence=%s]", getClass().getSimpleName(), index, sequence);
+        }
+    }
+    
+    static final MethodDefinition MD_START = MethodDefinition.create("start", AsyncGenerator.class);
+}
@@ -0,0 +1,567 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import net.tascalate.async.core.AbstractAsyncMethod;
+import net.tascalate.async.core.AsyncMethodExecutor;
+import net.tascalate.async.core.SuspendableSequence;
+
+/**
+ * Chain of operators over the values of a sequence. All stages are executed by the 
+ * consumer's continuation, pulling items one-by-one; adjacent stateless stages 
+ * (<code>map</code> / <code>filter</code>) are fused into a single loop. 
+ * <p>Pipeline is a single-use object: every operator consumes the pipeline it is 
+ * applied to and returns the new one.
+ *
+ * @param <T> the type of items
+ */
+public final class Pipeline<T> implements Iterable<T>, AutoCloseable {
+    
+    private final Cursor cursor;
+    
+    private Pipeline(Cursor cursor) {
+        this.cursor = cursor;
+    }
+    
+    public static <T> Pipeline<T> of(Sequence<? extends CompletionStage<? extends T>> source) {
+        if (source instanceof AsyncGenerator) {
+            // Ready values are read without futures
+            @SuppressWarnings("unchecked")
+            AsyncGenerator<T> generator = (AsyncGenerator<T>)source;
+            return new Pipeline<>(new ValuesCursor(generator.values()));
+        } else {
+            return new Pipeline<>(new SourceCursor(source));
+        }
+    }
+    
+    public <R> Pipeline<R> map(Function<? super T, ? extends R> mapper) {
+        return new Pipeline<>(StatelessCursor.append(cursor, new MapOp(mapper)));
+    }
+    
+    public Pipeline<T> filter(Predicate<? super T> predicate) {
+        return new Pipeline<>(StatelessCursor.append(cursor, new FilterOp(predicate)));
+    }
+    
+    public <R> Pipeline<R> flatMap(Function<? super T, ? extends Sequence<? extends CompletionStage<? extends R>>> mapper) {
+        return new Pipeline<>(new FlatMapCursor(cursor, mapper));
+    }
+    
+    public Pipeline<T> take(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+        return new Pipeline<>(new TakeCursor(cursor, count));
+    }
+    
+    /**
+     * Groups items into lists of <code>size</code> items, the last list may be shorter
+     */
+    public Pipeline<List<T>> buffer(int size) {
+        checkSize(size);
+        return new Pipeline<>(new BufferCursor(cursor, size));
+    }
+    
+    /**
+     * Splits items into consecutive windows of <code>size</code> items, the last window 
+     * may be shorter. Windows share the source and must be consumed in order; items 
+     * not consumed from the window are skipped when the next window is requested.
+     */
+    public Pipeline<Pipeline<T>> window(int size) {
+        checkSize(size);
+        return new Pipeline<>(new WindowCursor(cursor, size));
+    }
+    
+    @Override
+    public @suspendable SequenceIterator<T> iterator() {
+        return new SequenceIterator.Closeable<T>() {
+            private boolean advance = true;
+            private Object current = END;
+            
+            @Override
+            public boolean hasNext() {
+                advanceIfNecessary();
+                return END != current;
+            }
+
+            @Override
+            public T next() {
+                advanceIfNecessary();
+                if (END == current) {
+                    throw new NoSuchElementException();
+                }
+                advance = true;
+                @SuppressWarnings("unchecked")
+                T result = (T)current;
+                return result;
+            }
+            
+            @Override
+            public void close() {
+                current = END;
+                advance = false;
+                Pipeline.this.close();
+            }
+            
+            private @suspendable void advanceIfNecessary() {
+                if (advance) {
+                    current = cursor.pull();
+                }
+                advance = false;
+            }
+            
+            @Override
+            public String toString() {
+                return String.format("%s-PipelineIterator[owner=%s]", getClass().getSimpleName(), Pipeline.this);
+            }
+        };
+    }
+    
+    /**
+     * Exposes the pipeline as a sequence of (resolved) promises, i.e. to yield it from 
+     * the asynchronous generator
+     */
+    public Sequence<CompletionStage<T>> asSequence() {
+        return new SuspendableSequence<CompletionStage<T>>() {
+            @Override
+            public CompletionStage<T> next() {
+                return next$(null);
+            }
+            
+            @Override
+            protected @suspendable CompletionStage<T> next$(AbstractAsyncMethod caller) {
+                Object item = cursor.pull();
+                if (END == item) {
+                    return null;
+                }
+                @SuppressWarnings("unchecked")
+                T result = (T)item;
+                return CompletableFuture.completedFuture(result);
+            }
+            
+            @Override
+            public void close() {
+                Pipeline.this.close();
+            }
+            
+            @Override
+            public String toString() {
+                return String.format("<pipeline-sequence>[owner=%s]", Pipeline.this);
+            }
+        };
+    }
+    
+    @Override
+    public void close() {
+        cursor.close();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s[cursor=%s]", getClass().getSimpleName(), cursor);
+    }
+    
+    private static void checkSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be positive: " + size);
+        }
+    }
+    
+    abstract static class Cursor {
+        /**
+         * @return next item or <code>END</code> when over
+         */
+        abstract @suspendable Object pull();
+        
+        abstract void close();
+    }
+    
+    static final class ValuesCursor extends Cursor {
+        private final AsyncGenerator.Values<?> values;
+        private SequenceIterator<?> iterator;
+        
+        ValuesCursor(AsyncGenerator.Values<?> values) {
+            this.values = values;
+        }
+        
+        @Override
+        @suspendable Object pull() {
+            if (null == iterator) {
+                // Must be created in the context of consumer
+                iterator = values.iterator();
+            }
+            return iterator.hasNext() ? iterator.next() : END;
+        }
+        
+        @Override
+        void close() {
+            values.close();
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[values=%s]", getClass().getSimpleName(), values);
+        }
+    }
+    
+    static final class SourceCursor extends Cursor {
+        private final Sequence<? extends CompletionStage<?>> source;
+        
+        SourceCursor(Sequence<? extends CompletionStage<?>> source) {
+            this.source = source;
+        }
+        
+        @Override
+        @suspendable Object pull() {
+            CompletionStage<?> next = SuspendableSequence.$$$next$$$(source, null);
+            return null == next ? END : AsyncMethodExecutor.await(next);
+        }
+        
+        @Override
+        void close() {
+            source.close();
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[source=%s]", getClass().getSimpleName(), source);
+        }
+    }
+    
+    static abstract class Op {
+        /**
+         * @return transformed item or <code>SKIP</code> to drop it
+         */
+        abstract Object apply(Object item);
+    }
+    
+    static final class MapOp extends Op {
+        @SuppressWarnings("rawtypes")
+        private final Function mapper;
+        
+        MapOp(Function<?, ?> mapper) {
+            this.mapper = mapper;
+        }
+        
+        @SuppressWarnings("unchecked")
+        @Override
+        Object apply(Object item) {
+            return mapper.apply(item);
+        }
+    }
+    
+    static final class FilterOp extends Op {
+        @SuppressWarnings("rawtypes")
+        private final Predicate predicate;
+        
+        FilterOp(Predicate<?> predicate) {
+            this.predicate = predicate;
+        }
+        
+        @SuppressWarnings("unchecked")
+        @Override
+        Object apply(Object item) {
+            return predicate.test(item) ? item : SKIP;
+        }
+    }
+    
+    static final class StatelessCursor extends Cursor {
+        private final Cursor upstream;
+        private final Op[] ops;
+        
+        private StatelessCursor(Cursor upstream, Op[] ops) {
+            this.upstream = upstream;
+            this.ops = ops;
+        }
+        
+        static Cursor append(Cursor cursor, Op op) {
+            if (cursor instanceof StatelessCursor) {
+                // Fuse with the previous stateless stage
+                StatelessCursor previous = (StatelessCursor)cursor;
+                Op[] ops = Arrays.copyOf(previous.ops, previous.ops.length + 1);
+                ops[previous.ops.length] = op;
+                return new StatelessCursor(previous.upstream, ops);
+            } else {
+                return new StatelessCursor(cursor, new Op[] {op});
+            }
+        }
+        
+        @Override
+        @suspendable Object pull() {
+            nextItem:
+            while (true) {
+                Object item = upstream.pull();
+                if (END == item) {
+                    return END;
+                }
+                for (Op op : ops) {
+                    item = op.apply(item);
+                    if (SKIP == item) {
+                        continue nextItem;
+                    }
+                }
+                return item;
+            }
+        }
+        
+        @Override
+        void close() {
+            upstream.close();
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[upstream=%s, stages=%d]", getClass().getSimpleName(), upstream, ops.length);
+        }
+    }
+    
+    static final class FlatMapCursor extends Cursor {
+        private final Cursor upstream;
+        @SuppressWarnings("rawtypes")
+        private final Function mapper;
+        private Cursor inner;
+        
+        FlatMapCursor(Cursor upstream, Function<?, ?> mapper) {
+            this.upstream = upstream;
+            this.mapper = mapper;
+        }
+        
+        @Override
+        @suspendable Object pull() {
+            while (true) {
+                if (null != inner) {
+                    Object item = inner.pull();
+                    if (END != item) {
+                        return item;
+                    }
+                    inner.close();
+                    inner = null;
+                }
+                Object outerItem = upstream.pull();
+                if (END == outerItem) {
+                    return END;
+                }
+                @SuppressWarnings("unchecked")
+                Sequence<? extends CompletionStage<?>> innerSequence = 
+                    (Sequence<? extends CompletionStage<?>>)mapper.apply(outerItem);
+                inner = new SourceCursor(innerSequence);
+            }
+        }
+        
+        @Override
+        void close() {
+            if (null != inner) {
+                inner.close();
+                inner = null;
+            }
+            upstream.close();
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[upstream=%s, inner=%s]", getClass().getSimpleName(), upstream, inner);
+        }
+    }
+    
+    static final class TakeCursor extends Cursor {
+        private final Cursor upstream;
+        private long remaining;
+        private boolean released;
+        
+        TakeCursor(Cursor upstream, long count) {
+            this.upstream = upstream;
+            this.remaining = count;
+        }
+        
+        @Override
+        @suspendable Object pull() {
+            if (remaining <= 0) {
+                // Includes take(0) -- source is never pulled
+                release();
+                return END;
+            }
+            Object item = upstream.pull();
+            if (END != item && 0 == --remaining) {
+                // Early exit -- release source
+                release();
+            }
+            return item;
+        }
+        
+        @Override
+        void close() {
+            remaining = 0;
+            release();
+        }
+        
+        private void release() {
+            if (!released) {
+                released = true;
+                upstream.close();
+            }
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[upstream=%s, remaining=%d]", getClass().getSimpleName(), upstream, remaining);
+        }
+    }
+    
+    static final class BufferCursor extends Cursor {
+        private final Cursor upstream;
+        private final int size;
+        private boolean done;
+        
+        BufferCursor(Cursor upstream, int size) {
+            this.upstream = upstream;
+            this.size = size;
+        }
+        
+        @Override
+        @suspendable Object pull() {
+            if (done) {
+                return END;
+            }
+            List<Object> chunk = new ArrayList<>(size);
+            while (chunk.size() < size) {
+                Object item = upstream.pull();
+                if (END == item) {
+                    done = true;
+                    break;
+                }
+                chunk.add(item);
+            }
+            return chunk.isEmpty() ? END : chunk;
+        }
+        
+        @Override
+        void close() {
+            done = true;
+            upstream.close();
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[upstream=%s, size=%d]", getClass().getSimpleName(), upstream, size);
+        }
+    }
+    
+    static final class WindowCursor extends Cursor {
+        private final Cursor upstream;
+        private final int size;
+        private WindowSlice current;
+        private boolean done;
+        
+        WindowCursor(Cursor upstream, int size) {
+            this.upstream = upstream;
+            this.size = size;
+        }
+        
+        @Override
+        @suspendable Object pull() {
+            if (null != current) {
+                // Skip items not consumed from the previous window
+                while (END != current.pull()) {}
+                current = null;
+            }
+            if (done) {
+                return END;
+            }
+            // Avoid empty trailing window
+            Object first = upstream.pull();
+            if (END == first) {
+                done = true;
+                return END;
+            }
+            current = new WindowSlice(this, first);
+            return new Pipeline<>(current);
+        }
+        
+        @Override
+        void close() {
+            done = true;
+            current = null;
+            upstream.close();
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[upstream=%s, size=%d]", getClass().getSimpleName(), upstream, size);
+        }
+    }
+    
+    static final class WindowSlice extends Cursor {
+        private final WindowCursor owner;
+        private Object first;
+        private int remaining;
+        
+        WindowSlice(WindowCursor owner, Object first) {
+            this.owner = owner;
+            this.first = first;
+            this.remaining = owner.size;
+        }
+        
+        @Override
+        @suspendable Object pull() {
+            if (remaining <= 0) {
+                return END;
+            }
+            remaining--;
+            if (END != first) {
+                Object result = first;
+                first = END;
+                return result;
+            }
+            Object item = owner.upstream.pull();
+            if (END == item) {
+                owner.done = true;
+                remaining = 0;
+            }
+            return item;
+        }
+        
+        @Override
+        void close() {
+            // Closing window doesn't close the source
+            // remaining items are skipped by the owner
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[remaining=%d]", getClass().getSimpleName(), remaining);
+        }
+    }
+    
+    static final Object END  = new Object();
+    static final Object SKIP = new Object();
+}
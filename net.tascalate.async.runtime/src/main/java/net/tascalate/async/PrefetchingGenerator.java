@@ -0,0 +1,149 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import net.tascalate.async.core.AsyncGeneratorMethod;
+import net.tascalate.async.core.AsyncMethodExecutor;
+import net.tascalate.async.core.AsyncSignal;
+import net.tascalate.async.core.AsyncTaskMethod;
+import net.tascalate.async.core.AwaitableQueue;
+import net.tascalate.async.core.InternalCallContext;
+import net.tascalate.async.core.SequenceKind;
+import net.tascalate.async.spi.MethodDefinition;
+import net.tascalate.async.util.TypeUtil;
+
+/**
+ * Runs the source sequence ahead of the consumer by up to <code>bufferSize</code> 
+ * items, so latency of the source overlaps with processing on the consumer side.
+ * 
+ * @param <T> the type of items
+ */
+final class PrefetchingGenerator<T> {
+    private static final AtomicIntegerFieldUpdater<PrefetchingGenerator<?>> PERMITS_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(TypeUtil.cast(PrefetchingGenerator.class), "permits");
+    
+    private final Sequence<? extends CompletionStage<? extends T>> sequence;
+    private final Scheduler scheduler;
+    final AwaitableQueue<Object> buffer;
+    // Free buffer slots; producer waits on permitsSignal when none left
+    private volatile int permits;
+    private final AsyncSignal<Void> permitsSignal = new AsyncSignal<>();
+    
+    PrefetchingGenerator(Sequence<? extends CompletionStage<? extends T>> sequence, int bufferSize, Scheduler scheduler) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        this.sequence = sequence;
+        this.scheduler = scheduler;
+        this.buffer = new AwaitableQueue<>(AwaitableQueue.chunkSizeFor(bufferSize));
+        this.permits = bufferSize;
+    }
+    
+    AsyncGenerator<T> start() {
+        Scheduler resolvedScheduler = AsyncMethodExecutor.currentScheduler(scheduler, this, MethodHandles.lookup(), MD_START);
+        AsyncTaskMethod<Void> producer = producer(resolvedScheduler);
+        AsyncGeneratorMethod<T> consumer = new AsyncGeneratorMethod<T>(resolvedScheduler) {
+            @Override
+            protected @suspendable void doRun() throws Throwable {
+                try {
+                    while (true) {
+                        buffer.await(this);
+                        
+                        Object entry;
+                        while ((entry = buffer.poll()) != null) {
+                            if (SequencePuller.END == entry) {
+                                return;
+                            }
+                            T item = SequencePuller.itemOf(entry);
+                            // Let producer advance while item is consumed
+                            release();
+                            emit(item);
+                        }
+                    }
+                } finally {
+                    // No-op if producer is done already
+                    producer.future.cancel(true);
+                }
+            }
+        };
+        AsyncMethodExecutor.execute(consumer);
+        AsyncMethodExecutor.execute(producer);
+        return consumer.generator;
+    }
+    
+    /**
+     * Producer that fills the buffer with entries, see {@link SequencePuller}
+     */
+    AsyncTaskMethod<Void> producer(Scheduler resolvedScheduler) {
+        return new AsyncTaskMethod<Void>(resolvedScheduler) {
+            @Override
+            protected @suspendable void doRun() {
+                SequenceKind kind = SequenceKind.kindOf(sequence);
+                try (Sequence<?> closeable = sequence) {
+                    while (true) {
+                        while (0 == permits) {
+                            permitsSignal.await(this);
+                            // Releases after reset fire the signal again
+                            permitsSignal.reset();
+                        }
+                        
+                        CompletionStage<? extends T> futureItem = SequencePuller.next(sequence, kind, this);
+                        if (null == futureItem) {
+                            buffer.offer(SequencePuller.END);
+                            return;
+                        }
+                        
+                        Object item;
+                        try {
+                            item = AsyncMethodExecutor.await(futureItem, this);
+                        } catch (Throwable ex) {
+                            InternalCallContext.checkExitSignal(ex);
+                            buffer.offer(new SequencePuller.Failure(ex));
+                            return;
+                        }
+                        PERMITS_UPDATER.decrementAndGet(PrefetchingGenerator.this);
+                        buffer.offer(SequencePuller.entryOf(item));
+                    }
+                }
+            }
+        };
+    }
+    
+    void release() {
+        PERMITS_UPDATER.incrementAndGet(this);
+        permitsSignal.signal(null);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s[sequence=%s, permits=%d, buffer=%s]", getClass().getSimpleName(), sequence, permits, buffer);
+    }
+    
+    static final MethodDefinition MD_START = MethodDefinition.create("start", AsyncGenerator.class);
+}
@@ -32,6 +32,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 
 import net.tascalate.async.scheduler.InterruptibleScheduler;
+import net.tascalate.async.scheduler.SerialScheduler;
+import net.tascalate.async.spi.SchedulerResolver;
 import net.tascalate.async.scheduler.SimpleScheduler;
 
 public interface Scheduler {
@@ -52,6 +54,8 @@ public interface Scheduler {
 
     public static void installDefaultScheduler(Scheduler scheduler) {
         DefaultSchedulerHolder.setOnce(scheduler);
+        // Call sites could fold the fallback scheduler
+        SchedulerResolver.invalidateBindings();
     }
     
     public static Scheduler defaultScheduler() {
@@ -70,6 +74,14 @@ public interface Scheduler {
         return new SimpleScheduler(executor, contextualizer);
     }
     
+    public static Scheduler serial(Executor executor) {
+        return new SerialScheduler(executor);
+    }
+    
+    public static Scheduler serial(Executor executor, Function<? super Runnable, ? extends Runnable> contextualizer) {
+        return new SerialScheduler(executor, contextualizer);
+    }
+    
     public static Scheduler interruptible(ExecutorService executor) {
         return new InterruptibleScheduler(executor);
     }
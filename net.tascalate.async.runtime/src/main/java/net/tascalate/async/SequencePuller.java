@@ -0,0 +1,90 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async;
+
+import java.util.concurrent.CompletionStage;
+
+import net.tascalate.async.core.AbstractAsyncMethod;
+import net.tascalate.async.core.InternalCallContext;
+import net.tascalate.async.core.SequenceKind;
+import net.tascalate.async.core.SuspendableSequence;
+
+/**
+ * Pulling of the source sequences by the background tasks of generator decorators, 
+ * and entries such tasks pass to the consumer: items, {@link #END} or {@link Failure}
+ */
+final class SequencePuller {
+    private SequencePuller() {}
+    
+    /**
+     * Optimization of <code>sequence.next()</code> that avoids <code>@suspendable</code> 
+     * ceremony where possible
+     * @param sequence the source sequence
+     * @param kind the kind of the source sequence, see {@link SequenceKind#kindOf(Sequence)}
+     * @param caller the async method that pulls the sequence
+     * @return the next future or null when the sequence is over
+     */
+    static @suspendable <F extends CompletionStage<?>> F next(Sequence<? extends F> sequence, SequenceKind kind, AbstractAsyncMethod caller) {
+        switch (kind) { 
+            case READY_VALUES:
+                return SuspendableSequence.nextReadyValue(sequence);
+            case SUSPENDABLE_CUSTOMIZABLE:
+            case SUSPENDABLE_REGULAR:                                   
+                return SuspendableSequence.nextSuspendable(sequence, caller); 
+            case NON_SUSPENDABLE_CUSTOMIZABLE:
+            case NON_SUSPENDABLE_REGULAR:
+                return sequence.next();
+            default:
+                throw new IllegalStateException();
+        }
+    }
+    
+    static Object entryOf(Object item) {
+        return null == item ? NULL_ITEM : item;
+    }
+    
+    /**
+     * @param entry the entry other than {@link #END}
+     * @return the item of the entry, error of {@link Failure} is re-thrown
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T itemOf(Object entry) {
+        if (entry instanceof Failure) {
+            return InternalCallContext.sneakyThrow(((Failure)entry).error);
+        }
+        return NULL_ITEM == entry ? null : (T)entry;
+    }
+    
+    static final class Failure {
+        final Throwable error;
+        
+        Failure(Throwable error) {
+            this.error = error;
+        }
+    }
+    
+    static final Object END = new Object();
+    private static final Object NULL_ITEM = new Object();
+}
@@ -25,7 +25,6 @@
 package net.tascalate.async.core;
 
 import java.util.concurrent.CancellationException;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 
@@ -40,7 +39,11 @@ abstract public class AsyncGeneratorMethod<T> extends AbstractAsyncMethod {
     
     protected AsyncGeneratorMethod(Scheduler scheduler) {
         super(scheduler);
-        this.generator = new LazyGenerator<>(this);
+        this.generator = createGenerator();
+    }
+    
+    LazyGenerator<T> createGenerator() {
+        return new LazyGenerator<>(this);
     }
     
     @Override
@@ -85,12 +88,12 @@ abstract public class AsyncGeneratorMethod<T> extends AbstractAsyncMethod {
         }
     }
 
-    protected final AsyncGenerator<T> emit() {
+    protected AsyncGenerator<T> emit() {
         return generator;
     }
     
     protected @suspendable final AsyncYield.Reply<T> emit(T readyValue) {
-        return generator.emit(Sequence.just(CompletableFuture.completedFuture(readyValue)));
+        return generator.emitReady(readyValue);
     }
 
     protected @suspendable final AsyncYield.Reply<T> emit(CompletionStage<T> pendingValue) {
@@ -0,0 +1,122 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import net.tascalate.async.suspendable;
+import net.tascalate.async.util.TypeUtil;
+
+/**
+ * Resettable signal with a single waiter, reused across hand-offs.
+ * Fired signal costs a CAS only; a waiter future is allocated just 
+ * when the awaiting continuation has to be suspended.
+ */
+public final class AsyncSignal<V> {
+    private static final AtomicReferenceFieldUpdater<AsyncSignal<?>, Object> STATE_UPDATER = 
+            AtomicReferenceFieldUpdater.newUpdater(TypeUtil.cast(AsyncSignal.class), Object.class, "state");
+    
+    private static final Object IDLE      = new Object();
+    private static final Object FIRING    = new Object();
+    private static final Object SIGNALLED = new Object();
+    
+    // IDLE | FIRING | SIGNALLED | waiter CompletableFuture
+    private volatile Object state = IDLE;
+    
+    // Published via volatile write of state
+    private V value;
+    private Throwable error;
+    
+    public boolean isSignalled() {
+        return SIGNALLED == state;
+    }
+    
+    public boolean signal(V value) {
+        return fire(value, null);
+    }
+    
+    public boolean fail(Throwable error) {
+        return fire(null, error);
+    }
+    
+    /**
+     * Must be invoked only by the waiter side after the signal was awaited
+     */
+    public void reset() {
+        value = null;
+        error = null;
+        state = IDLE;
+    }
+    
+    public @suspendable V await(AbstractAsyncMethod caller) {
+        if (SIGNALLED != state) {
+            CompletableFuture<?> waiter = new CompletableFuture<>();
+            if (STATE_UPDATER.compareAndSet(this, IDLE, waiter)) {
+                AsyncMethodExecutor.await(waiter, caller);
+            }
+            while (FIRING == state) {
+                // Payload is being set right now
+                Thread.yield();
+            }
+        }
+        if (null != error) {
+            return InternalCallContext.sneakyThrow(error);
+        }
+        return value;
+    }
+    
+    private boolean fire(V value, Throwable error) {
+        while (true) {
+            Object current = state;
+            if (SIGNALLED == current || FIRING == current) {
+                return false;
+            }
+            if (STATE_UPDATER.compareAndSet(this, current, FIRING)) {
+                this.value = value;
+                this.error = error;
+                boolean signalled = STATE_UPDATER.compareAndSet(this, FIRING, SIGNALLED);
+                if (IDLE != current) {
+                    // Resume suspended waiter
+                    ((CompletableFuture<?>)current).complete(null);
+                }
+                if (signalled) {
+                    return true;
+                }
+                // Reset while firing, i.e. without awaiting the signal first;
+                // fire again rather than lose the wake-up of the next await
+            }
+        }
+    }
+    
+    @Override
+    public String toString() {
+        Object current = state;
+        return String.format(
+            "%s[state=%s]", getClass().getSimpleName(),
+            IDLE == current ? "idle" : FIRING == current || SIGNALLED == current ? "signalled" : "awaiting"
+        );
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.core;
+
+import net.tascalate.async.suspendable;
+import net.tascalate.async.util.ChunkedArrayQueue;
+
+/**
+ * Multiple producers, single consumer queue the consumer may await on.
+ * Pairs {@link ChunkedArrayQueue} with {@link AsyncSignal} following its contract.
+ *
+ * @param <T> the type of items
+ */
+public final class AwaitableQueue<T> {
+    private final ChunkedArrayQueue<T> items;
+    
+    // Reused for every wake-up of the consumer
+    private final AsyncSignal<Void> wakeUpSignal = new AsyncSignal<>();
+
+    public AwaitableQueue() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+    
+    public AwaitableQueue(int chunkSize) {
+        items = new ChunkedArrayQueue<>(chunkSize);
+    }
+    
+    public @suspendable void await(AbstractAsyncMethod owner) {
+        while (items.isEmpty()) {
+            wakeUpSignal.await(owner);
+            // Offers after reset fire the signal again, 
+            // offers before are visible to isEmpty() 
+            wakeUpSignal.reset();
+        }
+    }
+    
+    public T poll() {
+        return items.poll();
+    }
+    
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+    
+    public void offer(T item) {
+        items.offer(item);
+        wakeUpSignal.signal(null);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s[items=%s, wake-up-signal=%s]", getClass().getSimpleName(), items, wakeUpSignal);
+    }
+    
+    public static int chunkSizeFor(long batchSize) {
+        return (int)Math.max(MIN_CHUNK_SIZE, Math.min(batchSize, MAX_CHUNK_SIZE));
+    }
+    
+    private static final int DEFAULT_CHUNK_SIZE = 64;
+    private static final int MIN_CHUNK_SIZE = 16;
+    private static final int MAX_CHUNK_SIZE = 1024;
+}
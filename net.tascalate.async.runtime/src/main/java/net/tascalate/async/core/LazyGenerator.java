@@ -24,6 +24,7 @@
  */
 package net.tascalate.async.core;
 
+import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -33,6 +34,7 @@ import net.tascalate.async.AsyncYield;
 import net.tascalate.async.CustomizableSequence;
 import net.tascalate.async.Scheduler;
 import net.tascalate.async.Sequence;
+import net.tascalate.async.SequenceIterator;
 import net.tascalate.async.suspendable;
 import net.tascalate.async.util.TypeUtil;
 
@@ -43,21 +45,52 @@ class LazyGenerator<T> extends SuspendableSequence<CompletionStage<T>>
     
     private final AsyncGeneratorMethod<?> owner;
     private final Values<T> values; 
+    // Only primitive-specialized generators yield and consume raw bits
+    private final BitsCodec<T> bitsCodec;
     private volatile CompletionStage<?> done;
     
-    // Start with locked producer and unlocked consumer
+    // Start with locked producer and locked consumer, 
+    // consumer always unlocks producer first
     // Also assume that next() MAY BE called before begin
-    private CompletableFuture<AsyncYield.Reply<T>> producerLock = new CompletableFuture<>();
-    private CompletableFuture<?> consumerLock;
+    // Both signals are reused for every item; producer is signalled 
+    // with the param, the reply value is passed via replyValue
+    private final AsyncSignal<Object> producerSignal = new AsyncSignal<>();
+    private final AsyncSignal<Void> consumerSignal = new AsyncSignal<>();
     private CompletionStage<T> latestFuture;
+    
+    // Ready value yielded as is, passed to consumer without 
+    // wrapping into future / sequence; primitive-specialized 
+    // generators pass it as raw bits to avoid boxing
+    private int readyKind = NO_READY;
+    private T readyValue;
+    private long readyBits;
+    // Ready value taken by consumer, replied back to producer
+    private T latestReady;
+    // Published to producer via producerSignal
+    private T replyValue;
+    
+    private T currentValue;
+    private long currentBits;
 
     private Sequence<? extends CompletionStage<T>> currentDelegate = Sequence.empty();
     private SequenceKind currentDelegateKind = SequenceKind.READY_VALUES;
+    // Current delegate, if its items are passed as ready values
+    private ReadyItemSequence<T> currentItems;
     
     LazyGenerator(AsyncGeneratorMethod<T> owner) {
+        this(owner, null);
+    }
+    
+    LazyGenerator(AsyncGeneratorMethod<T> owner, BitsCodec<T> bitsCodec) {
     	this.owner = owner;
+    	this.bitsCodec = bitsCodec;
     	this.done = owner.future;
-    	values = new AsyncValues<>(this);
+    	values = new AsyncValues<T>(this) {
+    	    @Override
+    	    public SequenceIterator<T> iterator() {
+    	        return new ValuesCursor();
+    	    }
+    	};
     }
     
     @Override
@@ -82,70 +115,151 @@ class LazyGenerator<T> extends SuspendableSequence<CompletionStage<T>>
     
     @Override
     protected @suspendable CompletionStage<T> next$(Object param, AbstractAsyncMethod caller) {
+        if (!advance$(param, caller)) {
+            return null;
+        }
+        if (NO_READY != readyKind) {
+            // Consumer asks for futures
+            return CompletableFuture.completedFuture(takeReadyValue());
+        }
+        return latestFuture;
+    }
+    
+    final @suspendable boolean nextValue$(AbstractAsyncMethod caller) {
+        if (!advance$(NO_PARAM, caller)) {
+            return false;
+        }
+        if (NO_READY != readyKind) {
+            currentValue = takeReadyValue();
+        } else {
+            currentValue = AsyncMethodExecutor.await(latestFuture, caller);
+        }
+        return true;
+    }
+    
+    final @suspendable boolean nextBits$(AbstractAsyncMethod caller) {
+        if (!advance$(NO_PARAM, caller)) {
+            return false;
+        }
+        switch (readyKind) {
+            case READY_BITS:
+                readyKind = NO_READY;
+                currentBits = readyBits;
+                break;
+            case READY_VALUE:
+                currentBits = bitsCodec.unbox(takeReadyValue());
+                break;
+            default:
+                currentBits = bitsCodec.unbox(AsyncMethodExecutor.await(latestFuture, caller));
+        }
+        return true;
+    }
+    
+    final T currentValue() {
+        return currentValue;
+    }
+    
+    final long currentBits() {
+        return currentBits;
+    }
+    
+    private T takeReadyValue() {
+        T result = READY_BITS == readyKind ? bitsCodec.box(readyBits) : readyValue;
+        readyKind = NO_READY;
+        readyValue = null;
+        latestReady = result;
+        return result;
+    }
+    
+    private @suspendable boolean advance$(Object param, AbstractAsyncMethod caller) {
         // Loop to replace tail recursion - BEGIN
         while (true) {
             if (owner.checkDone()) {
-                return null;
+                return false;
             }
             
-            // Await previously returned result, if any
-            FutureResult<T> latestResult = FutureResult.of(latestFuture, caller);
-            
-            // Could we advance further current delegate?
-            // Switch below is optimization of
-            // currentDelegate.next() / currentDelegate.next(param)
-            if (null == currentDelegateKind) {
-                currentDelegateKind = SequenceKind.kindOf(currentDelegate);
+            if (NO_READY != readyKind) {
+                // Ready value is not consumed yet
+                // latestFuture is always null at this point
+                return true;
             }
-            switch (currentDelegateKind) { 
-                case READY_VALUES:
-                    // Avoid @suspendable ceremony
-                    latestFuture = SuspendableSequence.nextReadyValue(currentDelegate);
-                    break;
-                case SUSPENDABLE_CUSTOMIZABLE:
-                    latestFuture = NO_PARAM == param 
-                                   ? SuspendableSequence.nextSuspendable(currentDelegate, caller) 
-                                   : SuspendableSequence.nextSuspendable(currentDelegate, param, caller);       
-                    break;
-                case SUSPENDABLE_REGULAR:
-                    latestFuture = SuspendableSequence.nextSuspendable(currentDelegate, caller); 
-                    break;
-                case NON_SUSPENDABLE_CUSTOMIZABLE: {
-                    CustomizableSequence<? extends CompletionStage<T>> typedDelegate 
-                            = (CustomizableSequence<? extends CompletionStage<T>>)currentDelegate;
-                    latestFuture = NO_PARAM == param 
-                                   ? typedDelegate.next() 
-                                   : typedDelegate.next(param);                    
-                    break;
-                }
-                case NON_SUSPENDABLE_REGULAR: {
-                    latestFuture = currentDelegate.next();
-                    break;
+            
+            // Await previously returned result, if any
+            T latestValue = latestReady;
+            Throwable latestError = null;
+            latestReady = null;
+            if (null != latestFuture) {
+                try {
+                    latestValue = AsyncMethodExecutor.await(latestFuture, caller);
+                } catch (Throwable ex) {
+                    InternalCallContext.checkExitSignal(ex);
+                    latestError = ex;
                 }
-                default:
-                    throw new IllegalStateException();
+            }
             
+            if (null != currentItems && currentItems.hasNextItem()) {
+                readyKind = READY_VALUE;
+                readyValue = currentItems.nextItem();
+                latestFuture = null;
+                return true;
             }
             
+            latestFuture = nextOfDelegate(param, caller);
             if (null != latestFuture) {
                 // Yes, we can
-                return latestFuture;
+                return true;
             }
     
             // No, need to generate new promise;
     
             // Let produce some value (resumes producer)
-            latestResult.releaseLock(producerLock, param);
+            if (null == latestError) {
+                replyValue = latestValue;
+                producerSignal.signal(NO_PARAM == param ? null : param);
+            } else {
+                producerSignal.fail(latestError);
+            }
             
             // Wait till value is ready (suspends consumer)
-            acquireConsumerLock(caller);
-            consumerLock = new CompletableFuture<>();
+            consumerSignal.await(caller);
+            consumerSignal.reset();
             // Check everything once again after wait
         }
         // Loop to replace tail recursion - END
         // The actual tail recursive call is:
         //return next(param);
     }
+    
+    private @suspendable CompletionStage<T> nextOfDelegate(Object param, AbstractAsyncMethod caller) {
+        // Could we advance further current delegate?
+        // Switch below is optimization of
+        // currentDelegate.next() / currentDelegate.next(param)
+        if (null == currentDelegateKind) {
+            currentDelegateKind = SequenceKind.kindOf(currentDelegate);
+        }
+        switch (currentDelegateKind) { 
+            case READY_VALUES:
+                // Avoid @suspendable ceremony
+                return SuspendableSequence.nextReadyValue(currentDelegate);
+            case SUSPENDABLE_CUSTOMIZABLE:
+                return NO_PARAM == param 
+                       ? SuspendableSequence.nextSuspendable(currentDelegate, caller) 
+                       : SuspendableSequence.nextSuspendable(currentDelegate, param, caller);       
+            case SUSPENDABLE_REGULAR:
+                return SuspendableSequence.nextSuspendable(currentDelegate, caller); 
+            case NON_SUSPENDABLE_CUSTOMIZABLE: {
+                CustomizableSequence<? extends CompletionStage<T>> typedDelegate 
+                        = (CustomizableSequence<? extends CompletionStage<T>>)currentDelegate;
+                return NO_PARAM == param 
+                       ? typedDelegate.next() 
+                       : typedDelegate.next(param);                    
+            }
+            case NON_SUSPENDABLE_REGULAR:
+                return currentDelegate.next();
+            default:
+                throw new IllegalStateException();
+        }
+    }
 
     @Override
     public void close() {
@@ -172,118 +286,161 @@ class LazyGenerator<T> extends SuspendableSequence<CompletionStage<T>>
     final @suspendable AsyncYield.Reply<T> emit(Sequence<? extends CompletionStage<T>> pendingValues) {
         currentDelegate = pendingValues;
         currentDelegateKind = null;
-        // Re-set producerLock
+        if (pendingValues instanceof ReadyItemSequence) {
+            @SuppressWarnings("unchecked")
+            ReadyItemSequence<T> items = (ReadyItemSequence<T>)pendingValues;
+            currentItems = items;
+        } else {
+            currentItems = null;
+        }
+        return replyOf(handOff());
+    }
+    
+    final @suspendable AsyncYield.Reply<T> emitReady(T value) {
+        readyKind = READY_VALUE;
+        readyValue = value;
+        resetDelegate();
+        return replyOf(handOff());
+    }
+    
+    final @suspendable Object emitBits(long bits) {
+        readyKind = READY_BITS;
+        readyBits = bits;
+        resetDelegate();
+        Object param = handOff();
+        // Set only if consumer asked for the boxed value
+        replyValue = null;
+        return param;
+    }
+    
+    private void resetDelegate() {
+        // Previous delegate is exhausted already
+        currentDelegate = Sequence.empty();
+        currentDelegateKind = SequenceKind.READY_VALUES;
+        currentItems = null;
+    }
+
+    private AsyncYield.Reply<T> replyOf(Object param) {
+        T value = replyValue;
+        replyValue = null;
+        if (null == value && null == param) {
+            @SuppressWarnings("unchecked")
+            AsyncYield.Reply<T> noReply = (AsyncYield.Reply<T>)NO_REPLY;
+            return noReply;
+        }
+        // Reply is a part of the public yield(...) API, hence it's allocated per hand-off
+        return new AsyncYield.Reply<>(value, param);
+    }
+
+    private @suspendable Object handOff() {
+        // Re-set producerSignal
         // It's important to reset it before unlocking consumer!
-        producerLock = new CompletableFuture<>();
+        producerSignal.reset();
         // Allow to consume new promise(s) yielded
-        // Unlock consumer, if locked (initially it's unlocked)
-        releaseConsumerLock();
-        return acquireProducerLock();
+        consumerSignal.signal(null);
+        return producerSignal.await(owner);
     }
 
     final @suspendable void begin() {
-        acquireProducerLock();
+        producerSignal.await(owner);
     }
 
     final void end(Throwable ex) {
         // Set synchronous error in generator method
-        // (as opposed to asynchronous that is managed by consumerLock        
+        // (as opposed to asynchronous that is managed by consumerSignal
         if (null == ex) {
             owner.success(null);
         } else {
             owner.failure(ex);
         }
-        currentDelegate = Sequence.empty();
-        currentDelegateKind = SequenceKind.READY_VALUES;
-        releaseConsumerLock();
-    }
-
-    private @suspendable AsyncYield.Reply<T> acquireProducerLock() {
-        CompletableFuture<AsyncYield.Reply<T>> currentLock = producerLock;
-        if (!currentLock.isDone()) {
-            return AsyncMethodExecutor.await(currentLock, owner);
-        } else {
-            // Never returns null while isDone() == true
-            return currentLock.getNow(null);
-        }
-    }
-    
-    private @suspendable void acquireConsumerLock(AbstractAsyncMethod caller) {
-        // When next() is called for first time
-        // then consumerLock is NULL
-        CompletableFuture<?> currentLock = consumerLock;
-    	if (null != currentLock) {
-    	    if (!currentLock.isDone()) {
-                AsyncMethodExecutor.await(currentLock, caller);
-    	    }
-            // Order matters - set to null only after wait      
-            consumerLock = null;
-    	}
-    }
-    
-    private void releaseConsumerLock() {
-        final CompletableFuture<?> currentLock = consumerLock;
-        if (null != currentLock) {
-            consumerLock = null;
-            currentLock.complete(null);
-        }
+        resetDelegate();
+        readyKind = NO_READY;
+        readyValue = null;
+        consumerSignal.signal(null);
     }
     
     @Override
     public String toString() {
         return String.format(
-            "<generator{%s}>[consumer-lock=%s, producer-lock=%s, current-delegate=%s]", 
-            getClass().getSimpleName(), consumerLock, producerLock, currentDelegate
+            "<generator{%s}>[consumer-signal=%s, producer-signal=%s, current-delegate=%s]", 
+            getClass().getSimpleName(), consumerSignal, producerSignal, currentDelegate
         );
     }
     
-    abstract static class FutureResult<T> {
-        static class Success<T> extends FutureResult<T> {
-            final T result;
-            
-            Success(T result) { 
-                this.result = result; 
-            }
-            
-            @Override
-            void releaseLock(CompletableFuture<AsyncYield.Reply<T>> lock, Object param) {
-                lock.complete(new AsyncYield.Reply<>(result, param == NO_PARAM ? null : param));
-            }
+    abstract class Cursor implements AutoCloseable {
+        private final AbstractAsyncMethod caller = InternalCallContext.asyncMethod();
+        private boolean advance = true;
+        private boolean hasCurrent = false;
+        
+        public @suspendable boolean hasNext() {
+            advanceIfNecessary();
+            return hasCurrent;
         }
         
-        static class Failure<T> extends FutureResult<T> {
-            final Throwable error;
-            
-            Failure(Throwable error) { 
-                this.error  = error; 
-            }
-            
-            @Override
-            void releaseLock(CompletableFuture<AsyncYield.Reply<T>> lock, Object param) {
-                lock.completeExceptionally(error);
+        protected @suspendable void moveNext() {
+            advanceIfNecessary();
+            if (!hasCurrent) {
+                throw new NoSuchElementException();
             }
+            advance = true;
+        }
+
+        @Override
+        public void close() {
+            hasCurrent = false;
+            advance = false;
+            LazyGenerator.this.close();
         }
         
-        @suspendable 
-        static <T> FutureResult<T> of(CompletionStage<? extends T> future, AbstractAsyncMethod caller) {
-            if (null == future) {
-                @SuppressWarnings("unchecked")
-                FutureResult<T> empty = (FutureResult<T>)EMPTY;
-                return empty;
-            } else {
-                try {
-                    return new Success<T>(AsyncMethodExecutor.await(future, caller));
-                } catch (Throwable ex) {
-                    InternalCallContext.checkExitSignal(ex);
-                    return new Failure<T>(ex);
-                }
+        private @suspendable void advanceIfNecessary() {
+            if (advance) {
+                hasCurrent = fetch$(caller);
             }
+            advance = false;
+        }
+        
+        abstract @suspendable boolean fetch$(AbstractAsyncMethod caller);
+        
+        @Override
+        public String toString() {
+            return String.format("%s-ValuesIterator[owner=%s]", getClass().getSimpleName(), LazyGenerator.this);
+        }
+    }
+    
+    abstract class BitsCursor extends Cursor {
+        protected @suspendable long nextBits() {
+            moveNext();
+            return currentBits();
         }
         
-        abstract void releaseLock(CompletableFuture<AsyncYield.Reply<T>> lock, Object param);
+        @Override
+        @suspendable boolean fetch$(AbstractAsyncMethod caller) {
+            return nextBits$(caller);
+        }
+    }
+    
+    final class ValuesCursor extends Cursor implements SequenceIterator.Closeable<T> {
+        @Override
+        public @suspendable T next() {
+            moveNext();
+            return currentValue();
+        }
         
-        private static final FutureResult<Object> EMPTY = new Success<Object>(null);
+        @Override
+        @suspendable boolean fetch$(AbstractAsyncMethod caller) {
+            return nextValue$(caller);
+        }
+    }
+    
+    interface BitsCodec<T> {
+        T box(long bits);
+        long unbox(T value);
     }
     
     static private final Object NO_PARAM = new Object();
+    private static final AsyncYield.Reply<Object> NO_REPLY = new AsyncYield.Reply<>(null, null);
+    
+    private static final int NO_READY    = 0;
+    private static final int READY_VALUE = 1;
+    private static final int READY_BITS  = 2;
 }
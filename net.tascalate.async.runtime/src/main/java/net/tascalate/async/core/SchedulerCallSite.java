@@ -0,0 +1,163 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.core;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.lang.invoke.SwitchPoint;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.tascalate.async.Scheduler;
+import net.tascalate.async.spi.MethodDefinition;
+
+/**
+ * Call site of the scheduler resolution in the generated async method, 
+ * linked via <code>invokedynamic</code> with the type <code>(Scheduler explicitScheduler, Object owner)Scheduler</code>.
+ * <p>Initially every invocation goes through the resolution plan of {@link SchedulerResolvers}. 
+ * Once the plan is found to always produce the same scheduler, the call site is re-linked 
+ * to return this scheduler as a constant (guarded by owner class and context class loader), 
+ * until the bindings are invalidated via {@link #invalidateBindings()}.
+ */
+public final class SchedulerCallSite extends MutableCallSite {
+    
+    private final MethodHandles.Lookup ownerClassLookup;
+    private final MethodDefinition methodDef;
+    private final MethodHandle generic;
+    private volatile SwitchPoint linkedWith;
+    
+    private SchedulerCallSite(MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef, MethodType type) {
+        super(type);
+        this.ownerClassLookup = ownerClassLookup;
+        this.methodDef = methodDef;
+        this.generic = RESOLVE.bindTo(this).asType(type);
+        setTarget(generic);
+    }
+    
+    /**
+     * Bootstrap method of the call site
+     * @param caller the lookup of the class that declares async method
+     * @param name the name of the call site, not used
+     * @param type the type of the call site
+     * @param asyncMethodClass the generated class of the async method body
+     * @param hints the pairs of the hint name and value, see {@link MethodDefinition#withHints(Map)}
+     * @return the call site
+     * @throws Throwable if method definition can't be read
+     */
+    public static CallSite bootstrap(MethodHandles.Lookup caller, String name, MethodType type, Class<?> asyncMethodClass, Object... hints) throws Throwable {
+        MethodHandle getter = caller.findStaticGetter(asyncMethodClass, "__METHOD_DEFINITION", MethodDefinition.class);
+        MethodDefinition methodDef = (MethodDefinition)getter.invoke();
+        if (null != methodDef && hints.length > 0) {
+            Map<String, Object> hintsByName = new HashMap<>();
+            for (int i = 0; i + 1 < hints.length; i += 2) {
+                hintsByName.put((String)hints[i], hints[i + 1]);
+            }
+            methodDef = methodDef.withHints(hintsByName);
+        }
+        return new SchedulerCallSite(caller, methodDef, type);
+    }
+    
+    /**
+     * Drops all cached scheduler resolution results, should be called when the outcome of 
+     * the resolution may change for already linked call sites: default scheduler is installed,
+     * the set of the resolvers is altered etc.
+     */
+    public static void invalidateBindings() {
+        SwitchPoint previous;
+        synchronized (SchedulerCallSite.class) {
+            SchedulerResolvers.invalidate();
+            previous = switchPoint;
+            switchPoint = new SwitchPoint();
+        }
+        SwitchPoint.invalidateAll(new SwitchPoint[] {previous});
+    }
+    
+    private Scheduler resolve(Scheduler explicitScheduler, Object owner) {
+        if (null != explicitScheduler) {
+            return explicitScheduler;
+        }
+        // Must be read before the plan to not miss concurrent invalidation
+        SwitchPoint currentSwitchPoint = switchPoint;
+        SchedulerResolvers.ResolutionPlan plan = SchedulerResolvers.resolutionPlan(owner, ownerClassLookup, methodDef);
+        if (null == plan) {
+            return SchedulerResolvers.currentScheduler(owner, ownerClassLookup, methodDef);
+        }
+        if (linkedWith != currentSwitchPoint) {
+            // Try to link only once per invalidation, so sites with varying owner class are not re-linked all the time
+            linkedWith = currentSwitchPoint;
+            Scheduler constant = plan.constantScheduler();
+            if (null != constant) {
+                linkConstant(currentSwitchPoint, constant, owner);
+                return constant;
+            }
+        }
+        return plan.resolve(owner, ownerClassLookup, methodDef);
+    }
+    
+    private void linkConstant(SwitchPoint currentSwitchPoint, Scheduler constant, Object owner) {
+        Class<?> ownerClass = null == owner ? null : owner.getClass();
+        if (null != ownerClass && ownerClass.getClassLoader() != ownerClassLookup.lookupClass().getClassLoader()) {
+            // Don't let the call site pin class loader of the sub-class
+            return;
+        }
+        MethodType type = type();
+        MethodHandle constantTarget = MethodHandles.dropArguments(
+            MethodHandles.constant(Scheduler.class, constant), 0, type.parameterList()
+        ).asType(type);
+        MethodHandle test = MethodHandles.insertArguments(
+            MATCHES, 0, ownerClass, Thread.currentThread().getContextClassLoader()
+        ).asType(type.changeReturnType(boolean.class));
+        setTarget(currentSwitchPoint.guardWithTest(MethodHandles.guardWithTest(test, constantTarget, generic), generic));
+    }
+    
+    private static boolean matches(Class<?> expectedOwnerClass, ClassLoader expectedContextClassLoader, Scheduler explicitScheduler, Object owner) {
+        return null == explicitScheduler &&
+               (null == owner ? null == expectedOwnerClass : owner.getClass() == expectedOwnerClass) &&
+               Thread.currentThread().getContextClassLoader() == expectedContextClassLoader;
+    }
+    
+    private static volatile SwitchPoint switchPoint = new SwitchPoint();
+    
+    private static final MethodHandle RESOLVE;
+    private static final MethodHandle MATCHES;
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            RESOLVE = lookup.findVirtual(
+                SchedulerCallSite.class, "resolve", 
+                MethodType.methodType(Scheduler.class, Scheduler.class, Object.class)
+            );
+            MATCHES = lookup.findStatic(
+                SchedulerCallSite.class, "matches", 
+                MethodType.methodType(boolean.class, Class.class, ClassLoader.class, Scheduler.class, Object.class)
+            );
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+}
@@ -24,36 +24,123 @@
  */
 package net.tascalate.async.core;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.invoke.MethodHandles;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import net.tascalate.async.Scheduler;
 import net.tascalate.async.spi.MethodDefinition;
 import net.tascalate.async.spi.SchedulerResolver;
-import net.tascalate.async.util.Cache;
+import net.tascalate.async.spi.StaticSchedulerResolver;
+import net.tascalate.async.util.ClassLoaderCache;
 import net.tascalate.async.util.ReferenceType;
 
 class SchedulerResolvers {
     private SchedulerResolvers() {}
     
     static Scheduler currentScheduler(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
-        ClassLoader serviceClassLoader = getServiceClassLoader(owner != null ? owner.getClass() : ownerClassLookup.lookupClass());
+        ResolutionPlan plan = resolutionPlan(owner, ownerClassLookup, methodDef);
+        if (null != plan) {
+            return plan.resolve(owner, ownerClassLookup, methodDef);
+        }
+        // Resolvers come from the context class loader that is not an ancestor of 
+        // the owner class loader, the plan may not be stored with the owner class
+        Class<?> ownerClassLoaderSource = owner != null ? owner.getClass() : ownerClassLookup.lookupClass();
+        return getSchedulerResolvers(getServiceClassLoader(ownerClassLoaderSource))
+               .stream()
+               .map(l -> l.resolve(owner, ownerClassLookup, methodDef))
+               .filter(Objects::nonNull)
+               .findFirst()
+               .orElseGet(SchedulerResolvers::defaultScheduler);
+    }
+    
+    static ResolutionPlan resolutionPlan(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+        Class<?> ownerClassLoaderSource = owner != null ? owner.getClass() : ownerClassLookup.lookupClass();
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        int currentEpoch = epoch;
+        
+        ConcurrentMap<MethodDefinition, ResolutionPlan[]> plansByMethod = PLANS_BY_OWNER_CLASS.get(ownerClassLoaderSource);
+        MethodDefinition key = null == methodDef ? NO_METHOD_DEFINITION : methodDef;
+        ResolutionPlan[] plans = plansByMethod.get(key);
+        if (null != plans) {
+            for (ResolutionPlan plan : plans) {
+                if (plan.accepts(owner, ownerClassLookup, contextClassLoader, currentEpoch)) {
+                    return plan;
+                }
+            }
+        }
+        
+        ClassLoader serviceClassLoader = getServiceClassLoader(ownerClassLoaderSource);
+        if (serviceClassLoader != classLoaderOfClass(ownerClassLoaderSource)) {
+            return null;
+        }
+        
         List<SchedulerResolver> schedulerResolvers = getSchedulerResolvers(serviceClassLoader);
-
-        return schedulerResolvers.stream()
-                                 .map(l -> l.resolve(owner, ownerClassLookup, methodDef))
-                                 .filter(Objects::nonNull)
-                                 .findFirst()
-                                 .orElseGet(() -> Optional.ofNullable(Scheduler.defaultScheduler())
-                                                          .orElse(Scheduler.sameThreadContextless()));
+        ResolutionPlan plan = createPlan(schedulerResolvers, owner, ownerClassLookup, methodDef, contextClassLoader, currentEpoch);
+        plansByMethod.merge(key, new ResolutionPlan[] {plan}, SchedulerResolvers::addPlan);
+        return plan;
+    }
+    
+    static synchronized void invalidate() {
+        epoch++;
     }
     
+    private static ResolutionPlan createPlan(List<SchedulerResolver> schedulerResolvers, 
+                                             Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef,
+                                             ClassLoader contextClassLoader, int epoch) {
+        List<SchedulerResolver> dynamicResolvers = new ArrayList<>();
+        Scheduler staticScheduler = null;
+        for (SchedulerResolver resolver : schedulerResolvers) {
+            SchedulerResolver bound = resolver.bind(owner, ownerClassLookup, methodDef);
+            if (bound instanceof StaticSchedulerResolver) {
+                staticScheduler = ((StaticSchedulerResolver)bound).scheduler();
+                if (null != staticScheduler) {
+                    // Resolvers with lower priority are never reached
+                    break;
+                }
+            } else if (null != bound) {
+                dynamicResolvers.add(bound);
+            }
+        }
+        return new ResolutionPlan(
+            owner == null, ownerClassLookup.lookupClass(), contextClassLoader, epoch,
+            dynamicResolvers.toArray(new SchedulerResolver[dynamicResolvers.size()]), staticScheduler
+        );
+    }
+    
+    private static ResolutionPlan[] addPlan(ResolutionPlan[] existing, ResolutionPlan[] added) {
+        // Keep a handful of most recent plans per call site
+        int size = Math.min(existing.length, MAX_PLANS_PER_CALL_SITE - 1);
+        ResolutionPlan[] result = Arrays.copyOf(added, size + 1);
+        System.arraycopy(existing, 0, result, 1, size);
+        return result;
+    }
+    
+    private static Scheduler defaultScheduler() {
+        return Optional.ofNullable(Scheduler.defaultScheduler())
+                       .orElse(Scheduler.sameThreadContextless());
+    }
     private static ClassLoader getServiceClassLoader(Class<?> ownerClassLoaderSource) {
         if (null == ownerClassLoaderSource) {
             ownerClassLoaderSource = SchedulerResolvers.class;     
@@ -66,13 +153,69 @@ class SchedulerResolvers {
     private static List<SchedulerResolver> getSchedulerResolvers(ClassLoader classLoader) {
         return SCHEDULER_RESOLVERS_BY_CLASS_LOADER.get(
             classLoader, 
-            cl -> StreamSupport.stream(ServiceLoader.load(SchedulerResolver.class, cl).spliterator(), false)
-                               .sorted(SCHEDULER_RESOLVER_BY_PRIORITY)
-                               .collect(Collectors.toList()) 
-                                
+            cl -> {
+                List<SchedulerResolver> indexed = loadIndexedSchedulerResolvers(cl);
+                Stream<SchedulerResolver> resolvers = null != indexed ? 
+                    indexed.stream() 
+                    :
+                    StreamSupport.stream(ServiceLoader.load(SchedulerResolver.class, cl).spliterator(), false);
+                // Priority is known only for instances, so sorting is done here even for the index
+                return resolvers.sorted(SCHEDULER_RESOLVER_BY_PRIORITY)
+                                .collect(Collectors.toList());
+            }
         );
     }
     
+    private static List<SchedulerResolver> loadIndexedSchedulerResolvers(ClassLoader classLoader) {
+        ClassLoader effectiveClassLoader = null != classLoader ? classLoader : ClassLoader.getSystemClassLoader();
+        // Every loader in the hierarchy may contribute own index, like with META-INF/services
+        Set<String> classNames = new LinkedHashSet<>();
+        try {
+            Enumeration<URL> indexes = effectiveClassLoader.getResources(SCHEDULER_RESOLVERS_INDEX);
+            if (!indexes.hasMoreElements()) {
+                return null;
+            }
+            while (indexes.hasMoreElements()) {
+                readClassNames(indexes.nextElement(), classNames);
+            }
+            // The index may come from a shared library while the services are declared 
+            // by the child loader, so it's trusted only if it lists every declared service
+            Enumeration<URL> serviceFiles = effectiveClassLoader.getResources(SCHEDULER_RESOLVER_SERVICES);
+            while (serviceFiles.hasMoreElements()) {
+                URL serviceFile = serviceFiles.nextElement();
+                Set<String> declared = readClassNames(serviceFile, new LinkedHashSet<>());
+                if (!classNames.containsAll(declared)) {
+                    log.debug("Scheduler resolvers declared in " + serviceFile + " are not indexed, using ServiceLoader");
+                    return null;
+                }
+            }
+            List<SchedulerResolver> result = new ArrayList<>(classNames.size());
+            for (String className : classNames) {
+                Class<?> resolverClass = Class.forName(className, true, effectiveClassLoader);
+                result.add(
+                    SchedulerResolver.class.cast(resolverClass.getConstructor().newInstance())
+                );
+            }
+            return result;
+        } catch (IOException | ReflectiveOperationException | ClassCastException | LinkageError ex) {
+            log.warn("Unable to load scheduler resolvers indexes " + SCHEDULER_RESOLVERS_INDEX + ", falling back to ServiceLoader", ex);
+            return null;
+        }
+    }
+    
+    private static Set<String> readClassNames(URL resource, Set<String> classNames) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            for (String line; (line = reader.readLine()) != null;) {
+                int commentIdx = line.indexOf('#');
+                String className = (commentIdx < 0 ? line : line.substring(0, commentIdx)).trim();
+                if (!className.isEmpty()) {
+                    classNames.add(className);
+                }
+            }
+        }
+        return classNames;
+    }
+    
     private static boolean isParent(ClassLoader parent, ClassLoader child) {
         for (ClassLoader cl = child; cl != null; cl = cl.getParent()) {
             if (cl == parent) {
@@ -98,7 +241,81 @@ class SchedulerResolvers {
     private static final Comparator<SchedulerResolver> SCHEDULER_RESOLVER_BY_PRIORITY = 
         Comparator.comparing(SchedulerResolver::priority).reversed();
     
-    private static final Cache<ClassLoader, List<SchedulerResolver>> SCHEDULER_RESOLVERS_BY_CLASS_LOADER = 
-        new Cache<>(ReferenceType.WEAK, ReferenceType.SOFT);
+    private static final Logger log = LoggerFactory.getLogger(SchedulerResolvers.class);
+    
+    // Written by the build tools, see ToolsHelper.writeSchedulerResolversIndex
+    private static final String SCHEDULER_RESOLVERS_INDEX = "META-INF/net.tascalate.async/scheduler-resolvers.idx";
+    private static final String SCHEDULER_RESOLVER_SERVICES = "META-INF/services/" + SchedulerResolver.class.getName();
+    
+    private static final ClassLoaderCache<List<SchedulerResolver>> SCHEDULER_RESOLVERS_BY_CLASS_LOADER = 
+        new ClassLoaderCache<>(ReferenceType.SOFT);
+    
+    private static final ClassValue<ConcurrentMap<MethodDefinition, ResolutionPlan[]>> PLANS_BY_OWNER_CLASS = 
+        new ClassValue<ConcurrentMap<MethodDefinition, ResolutionPlan[]>>() {
+            @Override
+            protected ConcurrentMap<MethodDefinition, ResolutionPlan[]> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    
+    private static final MethodDefinition NO_METHOD_DEFINITION = MethodDefinition.create("<none>", void.class);
+    private static final int MAX_PLANS_PER_CALL_SITE = 4;
+    
+    private static volatile int epoch;
+    
+    static final class ResolutionPlan {
+        private final boolean staticCall;
+        private final Class<?> lookupClass;
+        private final ClassLoader contextClassLoader;
+        private final int epoch;
+        private final SchedulerResolver[] dynamicResolvers;
+        private final Scheduler staticScheduler;
+        
+        ResolutionPlan(boolean staticCall, Class<?> lookupClass, ClassLoader contextClassLoader, int epoch,
+                       SchedulerResolver[] dynamicResolvers, Scheduler staticScheduler) {
+            this.staticCall = staticCall;
+            this.lookupClass = lookupClass;
+            this.contextClassLoader = contextClassLoader;
+            this.epoch = epoch;
+            this.dynamicResolvers = dynamicResolvers;
+            this.staticScheduler = staticScheduler;
+        }
+        
+        boolean accepts(Object owner, MethodHandles.Lookup ownerClassLookup, ClassLoader currentContextClassLoader, int currentEpoch) {
+            return (owner == null) == staticCall && 
+                   ownerClassLookup.lookupClass() == lookupClass &&
+                   currentContextClassLoader == contextClassLoader &&
+                   currentEpoch == epoch;
+        }
+        
+        /**
+         * @return the scheduler this plan always resolves to or null if the result depends on the invocation
+         */
+        Scheduler constantScheduler() {
+            if (dynamicResolvers.length > 0) {
+                return null;
+            }
+            // Default scheduler may be installed later, but this invalidates all plans
+            return null != staticScheduler ? staticScheduler : defaultScheduler();
+        }
+        
+        Scheduler resolve(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+            for (SchedulerResolver resolver : dynamicResolvers) {
+                Scheduler result = resolver.resolve(owner, ownerClassLookup, methodDef);
+                if (null != result) {
+                    return result;
+                }
+            }
+            return null != staticScheduler ? staticScheduler : defaultScheduler();
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(
+                "%s[lookupClass=%s, static=%s, dynamicResolvers=%s, staticScheduler=%s]",
+                getClass().getSimpleName(), lookupClass.getName(), staticCall, Arrays.toString(dynamicResolvers), staticScheduler
+            );
+        }
+    }
 
 }
@@ -0,0 +1,284 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import net.tascalate.async.Scheduler;
+import net.tascalate.async.core.CompletionStageHelper;
+import net.tascalate.async.core.RestrictedCompletableFuture;
+import net.tascalate.async.spi.ThreadVar;
+
+/**
+ * Earliest-deadline-first scheduler: resumes are queued by the deadline of 
+ * the async method they belong to and every executor task picks the most urgent one.
+ * <p>The deadline is bound when the scheduler of the async method is resolved, 
+ * either explicitly ({@link #withDeadline(long)}, {@link #withTimeout(Duration)}), 
+ * from the call context ({@link #forCurrentDeadline()}) or via {@link Deadline} 
+ * annotation with the {@link DeadlineSchedulerResolver}. 
+ */
+public class DeadlineScheduler extends AbstractExecutorScheduler<Executor> {
+    
+    public static enum ExpirationPolicy {
+        /**
+         * Run expired resumes anyway, only count them as misses
+         */
+        EXECUTE,
+        /**
+         * Drop expired resumes, the async method is never resumed, so it should be 
+         * cancelled by the caller (e.g. on timeout)
+         */
+        DISCARD,
+        /**
+         * Fail scheduling of already expired resumes with {@link RejectedExecutionException}
+         * (that fails the async method); resumes expired in queue are dropped as with {@link #DISCARD}
+         */
+        REJECT;
+    }
+    
+    private static final ThreadVar<Long> CURRENT_DEADLINE = new ThreadVar<>("DeadlineScheduler.CURRENT_DEADLINE", null);
+    
+    private final ExpirationPolicy expirationPolicy;
+    private final PriorityBlockingQueue<Task> queue = new PriorityBlockingQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    
+    private final LongAdder onTimeCount = new LongAdder();
+    private final LongAdder missedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    
+    public DeadlineScheduler(Executor executor) {
+        this(executor, ExpirationPolicy.EXECUTE, null);
+    }
+    
+    public DeadlineScheduler(Executor executor, ExpirationPolicy expirationPolicy) {
+        this(executor, expirationPolicy, null);
+    }
+    
+    public DeadlineScheduler(Executor executor, ExpirationPolicy expirationPolicy, Function<? super Runnable, ? extends Runnable> contextualizer) {
+        super(executor, null, contextualizer);
+        this.expirationPolicy = null == expirationPolicy ? ExpirationPolicy.EXECUTE : expirationPolicy;
+    }
+    
+    /**
+     * Schedules resume without deadline, it will run after all resumes with deadline
+     */
+    @Override
+    public CompletionStage<?> schedule(Runnable command) {
+        return schedule(command, Long.MAX_VALUE, false);
+    }
+    
+    /**
+     * @param deadline absolute deadline as {@link System#nanoTime()} value
+     * @return scheduler for an async method with the deadline given
+     */
+    public Scheduler withDeadline(long deadline) {
+        return new DeadlineBound(deadline);
+    }
+    
+    public Scheduler withTimeout(long timeout, TimeUnit unit) {
+        return withDeadline(System.nanoTime() + unit.toNanos(timeout));
+    }
+    
+    public Scheduler withTimeout(Duration timeout) {
+        return withDeadline(System.nanoTime() + timeout.toNanos());
+    }
+    
+    /**
+     * @return scheduler bound to the deadline of the current call context, 
+     * either established via {@link #runWithDeadline(long, Runnable)} / {@link #supplyWithDeadline(long, Supplier)}
+     * or inherited from the async method that is executed by this scheduler; 
+     * if there is no current deadline then this scheduler itself is returned
+     */
+    public Scheduler forCurrentDeadline() {
+        Long deadline = currentDeadline();
+        return null == deadline ? this : withDeadline(deadline);
+    }
+    
+    public int queueDepth() {
+        return queue.size();
+    }
+    
+    public long onTimeCount() {
+        return onTimeCount.sum();
+    }
+    
+    public long missedCount() {
+        return missedCount.sum();
+    }
+    
+    public long droppedCount() {
+        return droppedCount.sum();
+    }
+    
+    public double missRate() {
+        long missed = missedCount.sum();
+        long total  = missed + onTimeCount.sum();
+        return total == 0 ? 0 : (double)missed / total;
+    }
+    
+    public static Long currentDeadline() {
+        return CURRENT_DEADLINE.value();
+    }
+    
+    public static void runWithDeadline(long deadline, Runnable code) {
+        CURRENT_DEADLINE.runWith(deadline, code);
+    }
+
+    public static <V> V supplyWithDeadline(long deadline, Supplier<V> code) {
+        return CURRENT_DEADLINE.supplyWith(deadline, code);
+    }
+    
+    @Override
+    public String toString() {
+        return super.toString() + String.format(
+            "[expiration-policy=%s, queue-depth=%d, on-time=%d, missed=%d]",
+            expirationPolicy, queue.size(), onTimeCount.sum(), missedCount.sum()
+        );
+    }
+    
+    CompletionStage<?> schedule(Runnable command, long deadline, boolean propagateDeadline) {
+        Task task = new Task(command, deadline, sequence.getAndIncrement(), propagateDeadline);
+        if (expirationPolicy == ExpirationPolicy.REJECT && task.isExpired(System.nanoTime())) {
+            missedCount.increment();
+            droppedCount.increment();
+            throw new RejectedExecutionException("Deadline is already missed for " + command);
+        }
+        queue.offer(task);
+        try {
+            executor.execute(this::runMostUrgent);
+        } catch (RejectedExecutionException ex) {
+            queue.remove(task);
+            throw ex;
+        }
+        return task.result;
+    }
+    
+    private void runMostUrgent() {
+        Task task = queue.poll();
+        if (null == task) {
+            return;
+        }
+        if (task.isExpired(System.nanoTime())) {
+            missedCount.increment();
+            if (expirationPolicy != ExpirationPolicy.EXECUTE) {
+                droppedCount.increment();
+                CompletionStageHelper.completeFailure(
+                    task.result,
+                    expirationPolicy == ExpirationPolicy.REJECT ?
+                        new RejectedExecutionException("Deadline is missed for " + task.command)
+                        :
+                        new CancellationException("Deadline is missed for " + task.command)
+                );
+                return;
+            }
+        } else {
+            onTimeCount.increment();
+        }
+        task.run();
+    }
+    
+    final class DeadlineBound extends AbstractScheduler {
+        private final long deadline;
+        
+        DeadlineBound(long deadline) {
+            super(DeadlineScheduler.this.characteristics(), null);
+            this.deadline = deadline;
+        }
+        
+        @Override
+        public Runnable contextualize(Runnable resumeContinuation) {
+            return DeadlineScheduler.this.contextualize(resumeContinuation);
+        }
+
+        @Override
+        public CompletionStage<?> schedule(Runnable command) {
+            return DeadlineScheduler.this.schedule(command, deadline, true);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[deadline=%d, scheduler=%s]", getClass().getSimpleName(), deadline, DeadlineScheduler.this);
+        }
+    }
+    
+    static final class Task implements Runnable, Comparable<Task> {
+        final Runnable command;
+        final long deadline;
+        final long sequence;
+        final boolean propagateDeadline;
+        final RestrictedCompletableFuture<?> result = new RestrictedCompletableFuture<>();
+        
+        Task(Runnable command, long deadline, long sequence, boolean propagateDeadline) {
+            this.command = command;
+            this.deadline = deadline;
+            this.sequence = sequence;
+            this.propagateDeadline = propagateDeadline;
+        }
+        
+        boolean isExpired(long now) {
+            // Long.MAX_VALUE is "no deadline"; compare as differences to survive nanoTime overflow
+            return deadline != Long.MAX_VALUE && now - deadline > 0;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                if (propagateDeadline) {
+                    // Nested async methods resolved via forCurrentDeadline() inherit the deadline
+                    CURRENT_DEADLINE.runWith(deadline, command);
+                } else {
+                    command.run();
+                }
+                CompletionStageHelper.completeSuccess(result, null);
+            } catch (Throwable ex) {
+                CompletionStageHelper.completeFailure(result, ex);
+            }
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            if (deadline != other.deadline) {
+                if (deadline == Long.MAX_VALUE) {
+                    return 1;
+                } else if (other.deadline == Long.MAX_VALUE) {
+                    return -1;
+                } else {
+                    return deadline - other.deadline < 0 ? -1 : 1;
+                }
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.scheduler;
+
+import java.lang.invoke.MethodHandles;
+import java.util.Optional;
+
+import net.tascalate.async.Scheduler;
+import net.tascalate.async.spi.MethodDefinition;
+import net.tascalate.async.spi.PerMethodSchedulerResolver;
+
+/**
+ * Resolves {@link DeadlineScheduler} bound to the deadline given by {@link Deadline} annotation 
+ * of the async method (or its class), otherwise - to the deadline of the current call context, if any.
+ * <p>Not registered as a service by itself: subclass it with a no-arg constructor 
+ * that supplies the shared scheduler and register the subclass as <code>SchedulerResolver</code>.
+ */
+public class DeadlineSchedulerResolver extends PerMethodSchedulerResolver.BySingleAnnotation<Deadline> {
+    
+    protected final DeadlineScheduler scheduler;
+    private final int priority;
+    
+    public DeadlineSchedulerResolver(DeadlineScheduler scheduler, int priority) {
+        super(new ClassLookupByAnnotation<Deadline>(Deadline.class) {}, new MethodLookupByAnnotation<Deadline>(Deadline.class) {});
+        this.scheduler = scheduler;
+        this.priority = priority;
+    }
+    
+    @Override
+    public int priority() {
+        return priority;
+    }
+    
+    @Override
+    public Scheduler resolve(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+        Scheduler result = super.resolve(owner, ownerClassLookup, methodDef);
+        if (null != result) {
+            return result;
+        }
+        Long deadline = DeadlineScheduler.currentDeadline();
+        return null == deadline ? null : scheduler.withDeadline(deadline);
+    }
+
+    @Override
+    protected Scheduler createClassScheduler(Optional<Deadline> annotation, Object owner, MethodHandles.Lookup ownerClassLookup) {
+        return createScheduler(annotation.get());
+    }
+
+    @Override
+    protected Scheduler createMethodScheduler(Optional<Deadline> annotation, Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+        return createScheduler(annotation.get());
+    }
+    
+    protected Scheduler createScheduler(Deadline annotation) {
+        // Relative deadline is counted from the moment of invocation
+        return scheduler.withTimeout(annotation.value(), annotation.unit());
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s[priority=%d, scheduler=%s]", getClass().getSimpleName(), priority, scheduler);
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.scheduler;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import net.tascalate.async.Scheduler;
+
+public class InstrumentedScheduler implements Scheduler, ContextualizerOwner, SchedulerMetricsOwner {
+    
+    private final Scheduler delegate;
+    private final SchedulerMetrics metrics = new SchedulerMetrics();
+    
+    public InstrumentedScheduler(Scheduler delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "Delegate scheduler must be specified");
+    }
+    
+    public Scheduler delegate() {
+        return delegate;
+    }
+    
+    @Override
+    public SchedulerMetrics metrics() {
+        return metrics;
+    }
+    
+    @Override
+    public Function<? super Runnable, ? extends Runnable> contextualizer() {
+        return delegate instanceof ContextualizerOwner ? ((ContextualizerOwner)delegate).contextualizer() : null;
+    }
+    
+    @Override
+    public Set<Characteristics> characteristics() {
+        return delegate.characteristics();
+    }
+    
+    @Override
+    public Runnable contextualize(Runnable resumeContinuation) {
+        return delegate.contextualize(resumeContinuation);
+    }
+
+    @Override
+    public CompletionStage<?> schedule(Runnable command) {
+        TimedCommand timed = new TimedCommand(command);
+        metrics.onScheduled();
+        CompletionStage<?> result;
+        try {
+            result = delegate.schedule(timed);
+        } catch (RejectedExecutionException ex) {
+            if (timed.abandon()) {
+                metrics.onRejected();
+            }
+            throw ex;
+        }
+        if (null != result && !timed.isStarted()) {
+            // Cancelled (interruptible schedulers) or otherwise failed before run
+            result.whenComplete((r, e) -> {
+                if (timed.abandon()) {
+                    metrics.onAbandoned();
+                }
+            });
+        }
+        return result;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s[delegate=%s, metrics=%s]", getClass().getSimpleName(), delegate, metrics);
+    }
+    
+    final class TimedCommand extends AtomicInteger implements Runnable {
+        private static final long serialVersionUID = 1L;
+        
+        private static final int NEW      = 0;
+        private static final int STARTED  = 1;
+        private static final int FINISHED = 2;
+        
+        private final Runnable command;
+        private final long scheduledAt = System.nanoTime();
+        
+        TimedCommand(Runnable command) {
+            this.command = command;
+        }
+        
+        boolean isStarted() {
+            return get() != NEW;
+        }
+        
+        boolean abandon() {
+            return compareAndSet(NEW, FINISHED);
+        }
+        
+        @Override
+        public void run() {
+            if (!compareAndSet(NEW, STARTED)) {
+                command.run();
+                return;
+            }
+            long startedAt = System.nanoTime();
+            metrics.onStarted(startedAt - scheduledAt);
+            try {
+                command.run();
+            } finally {
+                set(FINISHED);
+                metrics.onFinished(System.nanoTime() - startedAt);
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.scheduler;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import net.tascalate.async.Scheduler;
+import net.tascalate.async.core.CompletionStageHelper;
+import net.tascalate.async.core.RestrictedCompletableFuture;
+
+/**
+ * Bulkhead over a shared executor: every key (tenant, partition, etc) gets its own
+ * {@link Scheduler} lane that runs at most <code>maxConcurrencyPerKey</code> resumes 
+ * at a time, while lanes with pending resumes are admitted to the executor 
+ * in round-robin order, one resume per turn. Schedulers returned are lightweight views
+ * of the key: the lane is created on the first resume and dropped as soon as it
+ * becomes idle, resumes of retired lane are re-routed to the current lane of the key.
+ *
+ * @param <K> type of the key
+ */
+public class KeyedScheduler<K> {
+    
+    private final Executor executor;
+    private final int maxConcurrencyPerKey;
+    private final Supplier<? extends K> currentKey;
+    private final Function<? super Runnable, ? extends Runnable> contextualizer;
+    
+    private final ConcurrentMap<K, Lane> lanes = new ConcurrentHashMap<>();
+    private final Queue<Lane> readyLanes = new ConcurrentLinkedQueue<>();
+    
+    public KeyedScheduler(Executor executor, int maxConcurrencyPerKey) {
+        this(executor, maxConcurrencyPerKey, null, null);
+    }
+    
+    public KeyedScheduler(Executor executor, int maxConcurrencyPerKey, Supplier<? extends K> currentKey) {
+        this(executor, maxConcurrencyPerKey, currentKey, null);
+    }
+    
+    public KeyedScheduler(Executor executor, 
+                          int maxConcurrencyPerKey, 
+                          Supplier<? extends K> currentKey, 
+                          Function<? super Runnable, ? extends Runnable> contextualizer) {
+        if (maxConcurrencyPerKey <= 0) {
+            throw new IllegalArgumentException("Max concurrency per key must be positive, but was " + maxConcurrencyPerKey);
+        }
+        this.executor = Objects.requireNonNull(executor, "Executor must be specified");
+        this.maxConcurrencyPerKey = maxConcurrencyPerKey;
+        this.currentKey = currentKey;
+        this.contextualizer = contextualizer;
+    }
+    
+    public Scheduler forKey(K key) {
+        Objects.requireNonNull(key, "Key must be specified");
+        return new KeyScheduler(key);
+    }
+    
+    public Scheduler forCurrentKey() {
+        if (null == currentKey) {
+            throw new IllegalStateException("Current key supplier is not configured for " + this);
+        }
+        return forKey(currentKey.get());
+    }
+    
+    public int activeCount(K key) {
+        Lane lane = lanes.get(key);
+        return null == lane ? 0 : Math.max(0, lane.active.get());
+    }
+    
+    public int pendingCount(K key) {
+        Lane lane = lanes.get(key);
+        return null == lane ? 0 : lane.pending.size();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(
+            "%s[executor=%s, max-concurrency-per-key=%d, keys=%d]",
+            getClass().getSimpleName(), executor, maxConcurrencyPerKey, lanes.size()
+        );
+    }
+    
+    private Lane laneOf(K key) {
+        return lanes.computeIfAbsent(key, Lane::new);
+    }
+    
+    private void dispatch() {
+        Lane lane;
+        while (null != (lane = readyLanes.poll())) {
+            lane.enqueued.set(false);
+            if (lane.tryAcquire()) {
+                Task task = lane.pending.poll();
+                if (null == task) {
+                    lane.active.decrementAndGet();
+                } else {
+                    try {
+                        executor.execute(task);
+                    } catch (RejectedExecutionException ex) {
+                        lane.active.decrementAndGet();
+                        task.reject(ex);
+                    }
+                }
+            }
+            // Re-enqueue at tail: other keys get their turn first
+            lane.signal();
+        }
+    }
+    
+    final class KeyScheduler extends AbstractScheduler {
+        final K key;
+        
+        KeyScheduler(K key) {
+            super(null, contextualizer);
+            this.key = key;
+        }
+        
+        @Override
+        public CompletionStage<?> schedule(Runnable command) {
+            return laneOf(key).schedule(command);
+        }
+        
+        private KeyedScheduler<K> owner() {
+            return KeyedScheduler.this;
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof KeyedScheduler.KeyScheduler)) {
+                return false;
+            }
+            KeyedScheduler<?>.KeyScheduler that = (KeyedScheduler<?>.KeyScheduler)other;
+            return owner() == that.owner() && key.equals(that.key);
+        }
+        
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(owner()) * 31 + key.hashCode();
+        }
+        
+        @Override
+        public String toString() {
+            return super.toString() + String.format("[key=%s, owner=%s]", key, KeyedScheduler.this);
+        }
+    }
+    
+    final class Lane {
+        final K key;
+        final Queue<Task> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicBoolean enqueued = new AtomicBoolean();
+        
+        Lane(K key) {
+            this.key = key;
+        }
+        
+        CompletionStage<?> schedule(Runnable command) {
+            Task task = new Task(this, command);
+            pending.offer(task);
+            if (active.get() < 0 && pending.remove(task)) {
+                // Lane was retired in between, continue with the current lane of the key
+                return laneOf(key).schedule(command);
+            }
+            signal();
+            dispatch();
+            RejectedExecutionException rejection = task.rejection;
+            if (null != rejection) {
+                throw rejection;
+            }
+            return task.result;
+        }
+        
+        boolean tryAcquire() {
+            int current;
+            do {
+                current = active.get();
+                if (current >= maxConcurrencyPerKey || current < 0) {
+                    return false;
+                }
+            } while (!active.compareAndSet(current, current + 1));
+            return true;
+        }
+        
+        void release() {
+            if (0 == active.decrementAndGet() && pending.isEmpty()) {
+                // Idle lanes are removed, so per-request keys don't accumulate
+                lanes.computeIfPresent(key, (k, lane) -> lane == this && tryRetire() ? null : lane);
+            }
+            signal();
+            dispatch();
+        }
+        
+        private boolean tryRetire() {
+            if (!active.compareAndSet(0, RETIRED)) {
+                return false;
+            }
+            if (pending.isEmpty()) {
+                return true;
+            }
+            // Resume was scheduled concurrently
+            active.set(0);
+            return false;
+        }
+        
+        void signal() {
+            int current = active.get();
+            if (!pending.isEmpty() && current >= 0 && current < maxConcurrencyPerKey && enqueued.compareAndSet(false, true)) {
+                readyLanes.offer(this);
+            }
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(
+                "%s[key=%s, active=%d, pending=%d]", 
+                getClass().getSimpleName(), key, active.get(), pending.size()
+            );
+        }
+    }
+    
+    final class Task implements Runnable {
+        final Lane lane;
+        final Runnable command;
+        final RestrictedCompletableFuture<?> result = new RestrictedCompletableFuture<>();
+        volatile RejectedExecutionException rejection;
+        
+        Task(Lane lane, Runnable command) {
+            this.lane = lane;
+            this.command = command;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                command.run();
+                CompletionStageHelper.completeSuccess(result, null);
+            } catch (Throwable ex) {
+                CompletionStageHelper.completeFailure(result, ex);
+            } finally {
+                lane.release();
+            }
+        }
+        
+        void reject(RejectedExecutionException ex) {
+            rejection = ex;
+            CompletionStageHelper.completeFailure(result, ex);
+        }
+    }
+    
+    // Active count of the lane removed from the map
+    private static final int RETIRED = -1;
+}
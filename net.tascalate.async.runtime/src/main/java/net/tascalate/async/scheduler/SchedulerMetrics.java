@@ -0,0 +1,97 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.scheduler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class SchedulerMetrics {
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final LatencyHistogram runTime = new LatencyHistogram();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    /**
+     * @return time from {@link net.tascalate.async.Scheduler#schedule(Runnable)} till the start of the resume
+     */
+    public LatencyHistogram queueWait() {
+        return queueWait;
+    }
+    
+    public LatencyHistogram runTime() {
+        return runTime;
+    }
+    
+    public int inFlightCount() {
+        return inFlight.get();
+    }
+    
+    public long scheduledCount() {
+        return scheduled.sum();
+    }
+    
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+    
+    public void reset() {
+        queueWait.reset();
+        runTime.reset();
+        scheduled.reset();
+        rejected.reset();
+    }
+    
+    void onScheduled() {
+        scheduled.increment();
+        inFlight.incrementAndGet();
+    }
+    
+    void onRejected() {
+        rejected.increment();
+        inFlight.decrementAndGet();
+    }
+    
+    void onStarted(long queueWaitNanos) {
+        queueWait.record(queueWaitNanos);
+    }
+    
+    void onFinished(long runTimeNanos) {
+        runTime.record(runTimeNanos);
+        inFlight.decrementAndGet();
+    }
+    
+    void onAbandoned() {
+        inFlight.decrementAndGet();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(
+            "%s[scheduled=%d, in-flight=%d, rejected=%d, queue-wait=%s, run-time=%s]",
+            getClass().getSimpleName(), scheduledCount(), inFlightCount(), rejectedCount(), queueWait, runTime
+        );
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import net.tascalate.async.core.CompletionStageHelper;
+import net.tascalate.async.core.RestrictedCompletableFuture;
+
+/**
+ * Runs resumes one at a time in FIFO order on top of a (shared) executor.
+ * <p>Typical usage is a per-instance lane declared as a {@link net.tascalate.async.SchedulerProvider}
+ * field, so code of async methods of the same object between await-s never runs concurrently:
+ * <pre>
+ * &#064;SchedulerProvider
+ * private final Scheduler scheduler = Scheduler.serial(sharedExecutor);
+ * </pre>
+ */
+public class SerialScheduler extends AbstractExecutorScheduler<Executor> {
+    
+    private final Queue<Task> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public SerialScheduler(Executor executor) {
+        this(executor, null);
+    }
+    
+    public SerialScheduler(Executor executor, Function<? super Runnable, ? extends Runnable> contextualizer) {
+        super(executor, null, contextualizer);
+    }
+    
+    @Override
+    public CompletionStage<?> schedule(Runnable command) {
+        Task task = new Task(command);
+        pending.offer(task);
+        if (running.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::runNext);
+            } catch (RejectedExecutionException ex) {
+                // Only this task is rejected, tasks of other callers are kept
+                boolean removed = pending.remove(task);
+                release();
+                if (removed) {
+                    CompletionStageHelper.completeFailure(task.result, ex);
+                    throw ex;
+                }
+            }
+        }
+        return task.result;
+    }
+    
+    private void runNext() {
+        Task task = pending.poll();
+        try {
+            if (null != task) {
+                task.run();
+            }
+        } finally {
+            release();
+        }
+    }
+    
+    private void release() {
+        while (true) {
+            running.set(false);
+            // Re-check after release, a producer could add a task meanwhile
+            if (pending.isEmpty() || !running.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::runNext);
+                return;
+            } catch (RejectedExecutionException ex) {
+                // Fail the task that should run next, the rest is re-tried
+                Task rejected = pending.poll();
+                if (null != rejected) {
+                    CompletionStageHelper.completeFailure(rejected.result, ex);
+                }
+            }
+        }
+    }
+    
+    static final class Task implements Runnable {
+        final Runnable command;
+        final RestrictedCompletableFuture<?> result = new RestrictedCompletableFuture<>();
+        
+        Task(Runnable command) {
+            this.command = command;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                command.run();
+                CompletionStageHelper.completeSuccess(result, null);
+            } catch (Throwable ex) {
+                CompletionStageHelper.completeFailure(result, ex);
+            }
+        }
+    }
+}
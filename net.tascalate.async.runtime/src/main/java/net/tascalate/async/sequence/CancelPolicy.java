@@ -1,7 +1,6 @@
 package net.tascalate.async.sequence;
 
 import java.util.Iterator;
-import java.util.Set;
 import java.util.concurrent.CompletionStage;
 
 import net.tascalate.async.core.CompletionStageHelper;
@@ -9,19 +8,19 @@ import net.tascalate.async.core.CompletionStageHelper;
 public enum CancelPolicy {
     NONE {
         @Override
-        void apply(Set<CompletionStage<?>> enlistedPromises, Iterator<? extends CompletionStage<?>> pendingPromises) {
+        void apply(Iterable<? extends CompletionStage<?>> enlistedPromises, Iterator<? extends CompletionStage<?>> pendingPromises) {
             
         }
     },
     ENLISTED {
         @Override
-        void apply(Set<CompletionStage<?>> enlistedPromises, Iterator<? extends CompletionStage<?>> pendingPromises) {
+        void apply(Iterable<? extends CompletionStage<?>> enlistedPromises, Iterator<? extends CompletionStage<?>> pendingPromises) {
             enlistedPromises.forEach(p -> CompletionStageHelper.cancelCompletionStage(p, true));
         }
     },
     ALL {
         @Override
-        void apply(Set<CompletionStage<?>> enlistedPromises, Iterator<? extends CompletionStage<?>> pendingPromises) {
+        void apply(Iterable<? extends CompletionStage<?>> enlistedPromises, Iterator<? extends CompletionStage<?>> pendingPromises) {
             ENLISTED.apply(enlistedPromises, pendingPromises);
             while (pendingPromises.hasNext()) {
                 CompletionStage<?> nextPromise = pendingPromises.next();
@@ -30,5 +29,5 @@ public enum CancelPolicy {
         }            
     };
     
-    abstract void apply(Set<CompletionStage<?>> enlistedPromises, Iterator<? extends CompletionStage<?>> pendingPromises);
+    abstract void apply(Iterable<? extends CompletionStage<?>> enlistedPromises, Iterator<? extends CompletionStage<?>> pendingPromises);
 }
@@ -24,23 +24,22 @@
  */
 package net.tascalate.async.sequence;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.Set;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CompletableFuture;
+import java.util.List;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 import net.tascalate.async.Sequence;
 import net.tascalate.async.core.AbstractAsyncMethod;
-import net.tascalate.async.core.AsyncMethodExecutor;
+import net.tascalate.async.core.AsyncSignal;
 import net.tascalate.async.core.SuspendableSequence;
+import net.tascalate.async.util.ChunkedArrayQueue;
 import net.tascalate.async.util.TypeUtil;
 
 public class FutureCompletionSequence<T, F extends CompletionStage<T>> extends SuspendableSequence<F> {
@@ -52,11 +51,23 @@ public class FutureCompletionSequence<T, F extends CompletionStage<T>> extends S
     private final int chunkSize;
     private final CancelPolicy cancelPolicy;
     
-    private final BlockingQueue<F> settledPromises;
-    private final Set<CompletionStage<?>> enlistedPromises; 
+    // Settled promises, multiple producers (completion callbacks), single consumer
+    private final ChunkedArrayQueue<F> settledPromises;
+    private final AsyncSignal<Void> settledSignal = new AsyncSignal<>();
+    
+    // Settled promises drained per wake-up, accessed by consumer only
+    private final Object[] batch;
+    private int batchHead;
+    private int batchSize;
+    
+    // Enlisted promises are addressed by enlist index, unsettled ones are
+    // tracked via bitset of the page; fully settled pages are dropped
+    private final int pageShift;
+    private final ArrayDeque<Page> enlistedPages = new ArrayDeque<>();
+    private Page currentPage;
+    private int enlistedCount;
     
     private volatile int inProgress = 0;
-    private volatile CompletableFuture<Void> consumerLock = new CompletableFuture<>();
     
     protected FutureCompletionSequence(Iterator<? extends F> pendingValues, int chunkSize) {
         this(pendingValues, chunkSize, CancelPolicy.ENLISTED);
@@ -66,9 +77,11 @@ public class FutureCompletionSequence<T, F extends CompletionStage<T>> extends S
         this.pendingPromises = pendingValues;
         this.chunkSize = chunkSize;
         this.cancelPolicy = cancelPolicy == null ? CancelPolicy.ENLISTED : cancelPolicy;
-        this.settledPromises = chunkSize > 0 ? new LinkedBlockingQueue<>(chunkSize)
-                                             : new LinkedBlockingQueue<>();  
-        this.enlistedPromises = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        int capacity = chunkSize > 0 ? Math.max(MIN_CHUNK_SIZE, Math.min(chunkSize, MAX_CHUNK_SIZE)) : MAX_CHUNK_SIZE;
+        this.settledPromises = new ChunkedArrayQueue<>(capacity);
+        this.batch = new Object[Math.min(capacity, MAX_BATCH_SIZE)];
+        // Page size is a power of two not less than the capacity
+        this.pageShift = 32 - Integer.numberOfLeadingZeros(Math.max(capacity, Long.SIZE) - 1);
     }
     
     @Override
@@ -82,28 +95,36 @@ public class FutureCompletionSequence<T, F extends CompletionStage<T>> extends S
             if (inProgress < 0) {
                 // Forcibly closed
                 return null;
+            } else if (batchHead < batchSize) {
+                @SuppressWarnings("unchecked")
+                F readyValue = (F)batch[batchHead];
+                batch[batchHead++] = null;
+                return readyValue;
             } else {
-                F readyValue = settledPromises.poll();
-                if (null != readyValue) {
-                    IN_PROGRESS_UPDATER.decrementAndGet(this);
+                int drained = drainSettled();
+                if (drained > 0) {
+                    IN_PROGRESS_UPDATER.addAndGet(this, -drained);
                     enlistPending();
-                    return readyValue;
+                    continue;
+                }
+                // Otherwise await for any result...            
+                if (inProgress > 0) {
+                    if (settledPromises.isEmpty()) {
+                        settledSignal.await(caller);
+                        // Reset only after await, see AsyncSignal;
+                        // settled after reset fire the signal again
+                        settledSignal.reset();
+                    }
+                    // ... and try again
+                    // recursion via loop
+                    continue;
                 } else {
-                    // Otherwise await for any result...            
-                    if (inProgress > 0) {
-                        AsyncMethodExecutor.await(consumerLock, caller);
-                        consumerLock = new CompletableFuture<>();
-                        // ... and try again
-                        // recursion via loop
-                        continue;
+                    if (enlistPending()) {
+                        // More was enlisted
+                        continue; //recursion via loop
                     } else {
-                        if (enlistPending()) {
-                            // More was enlisted
-                            continue; //recursion via loop
-                        } else {
-                            // ...or stop when over
-                            return null;
-                        }
+                        // ...or stop when over
+                        return null;
                     }
                 }
             }
@@ -113,13 +134,28 @@ public class FutureCompletionSequence<T, F extends CompletionStage<T>> extends S
     @Override
     public void close() {
         inProgress = Integer.MIN_VALUE;
-        cancelPolicy.apply(enlistedPromises, pendingPromises);
-        enlistedPromises.clear();
-        settledPromises.clear();
-        consumerLock.complete(null);
+        if (cancelPolicy != CancelPolicy.NONE) {
+            cancelPolicy.apply(collectUnsettled(), pendingPromises);
+        }
+        enlistedPages.clear();
+        currentPage = null;
+        batchHead = batchSize = 0;
+        settledSignal.signal(null);
+    }
+    
+    private int drainSettled() {
+        int count = 0;
+        F settled;
+        while (count < batch.length && null != (settled = settledPromises.poll())) {
+            batch[count++] = settled;
+        }
+        batchHead = 0;
+        batchSize = count;
+        return count;
     }
     
     private boolean enlistPending() {
+        releaseSettledPages();
         boolean enlisted = false;
         while (pendingPromises.hasNext()) {
             F nextPromise = pendingPromises.next();
@@ -136,8 +172,13 @@ public class FutureCompletionSequence<T, F extends CompletionStage<T>> extends S
             /*
             inProgress++;
             */
-            enlistedPromises.add(nextPromise);
-            nextPromise.whenComplete(enlistResolved(nextPromise));
+            int offset = enlistedCount++ & ((1 << pageShift) - 1);
+            if (0 == offset) {
+                currentPage = new Page(1 << pageShift);
+                enlistedPages.addLast(currentPage);
+            }
+            currentPage.enlist(offset, nextPromise);
+            nextPromise.whenComplete(enlistResolved(nextPromise, currentPage, offset));
             enlisted = true;
             
             if (chunkSize > 0 && currentInProgress >= chunkSize) {
@@ -146,28 +187,27 @@ public class FutureCompletionSequence<T, F extends CompletionStage<T>> extends S
         };  
         return enlisted;
     }
+    
+    private void releaseSettledPages() {
+        Page page;
+        while (null != (page = enlistedPages.peekFirst()) && page.isSettled()) {
+            enlistedPages.pollFirst();
+        }
+    }
+    
+    private List<CompletionStage<?>> collectUnsettled() {
+        List<CompletionStage<?>> result = new ArrayList<>();
+        for (Page page : enlistedPages) {
+            page.collectUnsettled(result);
+        }
+        return result;
+    }
 
-    private BiConsumer<T, Throwable> enlistResolved(F resolvedPromise) {
+    private BiConsumer<T, Throwable> enlistResolved(F resolvedPromise, Page page, int offset) {
         return (resolvedValue, ex) -> {
-            enlistedPromises.remove(resolvedPromise);
-            try {
-                settledPromises.put(resolvedPromise);
-                consumerLock.complete(null);
-            } catch (InterruptedException ie) {
-                // Shouldn't happen for the queue with an unlimited size
-                if (null != ex) {
-                    ie.addSuppressed(ex);
-                }
-                Thread.currentThread().interrupt(); 
-                boolean completedByThisException = consumerLock.completeExceptionally(ie);
-                if (!completedByThisException) {
-                    consumerLock.whenComplete(($, originalException) -> {
-                        if (null != originalException) {
-                            originalException.addSuppressed(ie);
-                        }
-                    });
-                }
-            }
+            page.settle(offset);
+            settledPromises.offer(resolvedPromise);
+            settledSignal.signal(null);
         };
     }
 
@@ -175,8 +215,8 @@ public class FutureCompletionSequence<T, F extends CompletionStage<T>> extends S
     @Override
     public String toString() {
         return String.format(
-            "%s[consumer-lock=%s, remaining=%s, resolved-promises=%s]",
-            getClass().getSimpleName(), consumerLock, inProgress, settledPromises
+            "%s[settled-signal=%s, remaining=%s, resolved-promises=%s]",
+            getClass().getSimpleName(), settledSignal, inProgress, settledPromises
         );
     }
 
@@ -206,5 +246,67 @@ public class FutureCompletionSequence<T, F extends CompletionStage<T>> extends S
                                                                          CancelPolicy cancelPolicy) {
         return new FutureCompletionSequence<>(pendingPromises, chunkSize, cancelPolicy);
     }
-
+    
+    static final class Page {
+        private static final AtomicIntegerFieldUpdater<Page> UNSETTLED_UPDATER = 
+                AtomicIntegerFieldUpdater.newUpdater(Page.class, "unsettled");
+        
+        // Written by consumer before the bit is set, 
+        // cleared on settle not to hold results of the page
+        private final CompletionStage<?>[] promises;
+        private final AtomicLongArray unsettledBits;
+        // Not yet enlisted slots are counted as unsettled
+        private volatile int unsettled;
+        
+        Page(int size) {
+            promises = new CompletionStage<?>[size];
+            unsettledBits = new AtomicLongArray(size / Long.SIZE);
+            unsettled = size;
+        }
+        
+        void enlist(int offset, CompletionStage<?> promise) {
+            promises[offset] = promise;
+            updateBit(offset, true);
+        }
+        
+        void settle(int offset) {
+            promises[offset] = null;
+            updateBit(offset, false);
+            UNSETTLED_UPDATER.decrementAndGet(this);
+        }
+        
+        boolean isSettled() {
+            return 0 == unsettled;
+        }
+        
+        void collectUnsettled(List<CompletionStage<?>> result) {
+            for (int i = unsettledBits.length() - 1; i >= 0; i--) {
+                long word = unsettledBits.get(i);
+                while (0 != word) {
+                    CompletionStage<?> promise = promises[i * Long.SIZE + Long.numberOfTrailingZeros(word)];
+                    // May be settled concurrently
+                    if (null != promise) {
+                        result.add(promise);
+                    }
+                    word &= word - 1;
+                }
+            }
+        }
+        
+        private void updateBit(int offset, boolean set) {
+            int idx = offset / Long.SIZE;
+            long mask = 1L << (offset % Long.SIZE);
+            while (true) {
+                long current = unsettledBits.get(idx);
+                long next = set ? current | mask : current & ~mask;
+                if (unsettledBits.compareAndSet(idx, current, next)) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    private static final int MIN_CHUNK_SIZE = 16;
+    private static final int MAX_CHUNK_SIZE = 1024;
+    private static final int MAX_BATCH_SIZE = 64;
 }
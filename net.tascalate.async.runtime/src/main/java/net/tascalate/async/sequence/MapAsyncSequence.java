@@ -0,0 +1,237 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.sequence;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import net.tascalate.async.Sequence;
+import net.tascalate.async.suspendable;
+import net.tascalate.async.core.AbstractAsyncMethod;
+import net.tascalate.async.core.AsyncMethodExecutor;
+import net.tascalate.async.core.AwaitableQueue;
+import net.tascalate.async.core.CompletionStageHelper;
+import net.tascalate.async.core.InternalCallContext;
+import net.tascalate.async.core.SuspendableSequence;
+
+/**
+ * Maps items of the source sequence via asynchronous function with at most 
+ * <code>concurrency</code> items in flight. Results are returned either in the 
+ * order of the source sequence or in the order of completion. The source is advanced 
+ * only when a slot is free, so backpressure is propagated to the source.
+ *
+ * @param <T> the type of source items
+ * @param <R> the type of mapped items
+ */
+public class MapAsyncSequence<T, R> extends SuspendableSequence<CompletionStage<R>> {
+    
+    private final Sequence<? extends CompletionStage<? extends T>> source;
+    private final Function<? super T, ? extends CompletionStage<? extends R>> mapper;
+    private final int concurrency;
+    private final boolean ordered;
+    
+    // Enlisted and not yet returned slots, accessed by consumer only
+    private final Queue<Slot> pending = new ArrayDeque<>();
+    private int inFlight = 0;
+    private boolean sourceDone = false;
+    
+    private final Set<Slot> enlisted = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final AwaitableQueue<Slot> settled;
+    private volatile boolean closed = false;
+    
+    protected MapAsyncSequence(Sequence<? extends CompletionStage<? extends T>> source, 
+                               int concurrency,
+                               boolean ordered,
+                               Function<? super T, ? extends CompletionStage<? extends R>> mapper) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        this.source = source;
+        this.mapper = mapper;
+        this.concurrency = concurrency;
+        this.ordered = ordered;
+        this.settled = ordered ? null : new AwaitableQueue<>(AwaitableQueue.chunkSizeFor(concurrency));
+    }
+    
+    @Override
+    public CompletionStage<R> next() {
+        return next$(null);
+    }
+    
+    @Override
+    protected @suspendable CompletionStage<R> next$(AbstractAsyncMethod caller) {
+        while (true) {
+            if (closed) {
+                return null;
+            }
+            enlistPending(caller);
+            if (ordered) {
+                Slot slot = pending.poll();
+                if (null == slot) {
+                    // Source is over and everything is returned
+                    return null;
+                }
+                if (!slot.result.isDone()) {
+                    // Keep slot occupied till mapping is done,
+                    // others are running meanwhile
+                    try {
+                        AsyncMethodExecutor.await(slot.result, caller);
+                    } catch (Throwable ex) {
+                        InternalCallContext.checkExitSignal(ex);
+                        // Error is returned with the result
+                    }
+                }
+                inFlight--;
+                return slot.result;
+            } else {
+                Slot slot = settled.poll();
+                if (null != slot) {
+                    if (slot.isCloseMarker()) {
+                        continue;
+                    }
+                    inFlight--;
+                    return slot.result;
+                }
+                if (0 == inFlight) {
+                    return null;
+                }
+                settled.await(caller);
+            }
+        }
+    }
+    
+    @Override
+    public void close() {
+        closed = true;
+        for (Slot slot : enlisted) {
+            slot.cancel();
+        }
+        enlisted.clear();
+        source.close();
+        if (!ordered) {
+            // Wake up consumer, if any
+            settled.offer(new Slot(null));
+        }
+    }
+    
+    private @suspendable void enlistPending(AbstractAsyncMethod caller) {
+        while (!sourceDone && inFlight < concurrency) {
+            CompletionStage<? extends T> next = SuspendableSequence.$$$next$$$(source, caller);
+            if (null == next) {
+                sourceDone = true;
+                break;
+            }
+            Slot slot = new Slot(next);
+            inFlight++;
+            enlisted.add(slot);
+            if (ordered) {
+                pending.offer(slot);
+            }
+            slot.start();
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(
+            "%s[source=%s, concurrency=%d, ordered=%s, in-flight=%d, source-done=%s]",
+            getClass().getSimpleName(), source, concurrency, ordered, inFlight, sourceDone
+        );
+    }
+    
+    public static <T, R> Sequence<CompletionStage<R>> create(Sequence<? extends CompletionStage<? extends T>> source, 
+                                                             int concurrency,
+                                                             boolean ordered,
+                                                             Function<? super T, ? extends CompletionStage<? extends R>> mapper) {
+        return new MapAsyncSequence<>(source, concurrency, ordered, mapper);
+    }
+    
+    private final class Slot {
+        final CompletionStage<? extends T> origin;
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        volatile CompletionStage<? extends R> mapped;
+        
+        Slot(CompletionStage<? extends T> origin) {
+            this.origin = origin;
+        }
+        
+        void start() {
+            origin.whenComplete((item, error) -> {
+                if (null != error) {
+                    settle(null, error);
+                    return;
+                }
+                CompletionStage<? extends R> mappedItem;
+                try {
+                    mappedItem = mapper.apply(item);
+                } catch (Throwable ex) {
+                    settle(null, ex);
+                    return;
+                }
+                if (null == mappedItem) {
+                    settle(null, new NullPointerException("Mapper returned null for " + item));
+                    return;
+                }
+                mapped = mappedItem;
+                if (closed) {
+                    // Closed while mapper was invoked
+                    CompletionStageHelper.cancelCompletionStage(mappedItem, true);
+                }
+                mappedItem.whenComplete(this::settle);
+            });
+        }
+        
+        void settle(R value, Throwable error) {
+            enlisted.remove(this);
+            if (null == error) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error);
+            }
+            if (!ordered) {
+                settled.offer(this);
+            }
+        }
+        
+        boolean isCloseMarker() {
+            return null == origin;
+        }
+        
+        void cancel() {
+            result.cancel(true);
+            CompletionStageHelper.cancelCompletionStage(origin, true);
+            CompletionStage<? extends R> mappedItem = mapped;
+            if (null != mappedItem) {
+                CompletionStageHelper.cancelCompletionStage(mappedItem, true);
+            }
+        }
+    }
+}
@@ -24,8 +24,10 @@
  */
 package net.tascalate.async.spi;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import net.tascalate.async.util.BoundedCache;
 import net.tascalate.async.util.Cache;
 import net.tascalate.async.util.ReferenceType;
 
@@ -66,8 +68,83 @@ public final class Memoization {
         return memoize(ReferenceType.HARD, ReferenceType.WEAK, producer);
     }
     
+    /**
+     * Memoizes at most <code>maximumSize</code> results, evicting the least recently used ones (approximately).
+     * Keys are hard-referenced.
+     */
+    public static <K, V> Bounded<K, V> bounded(int maximumSize, Function<? super K, ? extends V> producer) {
+        return new Bounded<>(new BoundedCache<>(ReferenceType.HARD, maximumSize), producer);
+    }
+    
+    /**
+     * Memoizes at most <code>maximumSize</code> results, evicting the least recently used ones (approximately); 
+     * a result is re-computed once <code>expireAfterWrite</code> elapsed since it was produced. Keys are hard-referenced.
+     */
+    public static <K, V> Bounded<K, V> bounded(int maximumSize, long expireAfterWrite, TimeUnit unit, Function<? super K, ? extends V> producer) {
+        return new Bounded<>(new BoundedCache<>(ReferenceType.HARD, maximumSize, unit.toNanos(expireAfterWrite)), producer);
+    }
+    
+    public static <K, V> Bounded<K, V> weakKeysBounded(int maximumSize, Function<? super K, ? extends V> producer) {
+        return new Bounded<>(new BoundedCache<>(ReferenceType.WEAK, maximumSize), producer);
+    }
+    
+    public static <K, V> Bounded<K, V> weakKeysBounded(int maximumSize, long expireAfterWrite, TimeUnit unit, Function<? super K, ? extends V> producer) {
+        return new Bounded<>(new BoundedCache<>(ReferenceType.WEAK, maximumSize, unit.toNanos(expireAfterWrite)), producer);
+    }
+    
     private static <K, V> Function<K, V> memoize(ReferenceType ktype, ReferenceType vtype, Function<? super K, ? extends V> producer) {
         Cache<K, V> cache = new Cache<>(ktype, vtype);
         return k -> cache.get(k, producer);
     }
+    
+    public static final class Bounded<K, V> implements Function<K, V> {
+        private final BoundedCache<K, V> cache;
+        private final Function<? super K, ? extends V> producer;
+        
+        Bounded(BoundedCache<K, V> cache, Function<? super K, ? extends V> producer) {
+            this.cache = cache;
+            this.producer = producer;
+        }
+        
+        @Override
+        public V apply(K key) {
+            return cache.get(key, producer);
+        }
+        
+        public void invalidate(K key) {
+            cache.remove(key);
+        }
+        
+        public void invalidateAll() {
+            cache.clear();
+        }
+        
+        public int size() {
+            return cache.size();
+        }
+        
+        public long hitCount() {
+            return cache.hitCount();
+        }
+        
+        public long missCount() {
+            return cache.missCount();
+        }
+        
+        public long evictionCount() {
+            return cache.evictionCount();
+        }
+        
+        public double hitRate() {
+            long hits = hitCount();
+            long total = hits + missCount();
+            return total == 0 ? 1.0 : (double)hits / total; 
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[size=%d, maximumSize=%d, hits=%d, misses=%d, evictions=%d]", 
+                                 getClass().getSimpleName(), size(), cache.maximumSize(), hitCount(), missCount(), evictionCount());
+        }
+    }
 }
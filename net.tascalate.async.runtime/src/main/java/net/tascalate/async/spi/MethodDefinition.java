@@ -24,22 +24,47 @@
  */
 package net.tascalate.async.spi;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public final class MethodDefinition {
+    /**
+     * Hint with the {@link java.lang.invoke.MethodHandle} of the single instance 
+     * {@link net.tascalate.async.SchedulerProvider} field / getter declared by the method owner class
+     */
+    public static final String INSTANCE_SCHEDULER_PROVIDER_HINT = "instance-scheduler-provider";
+    /**
+     * Hint with the {@link java.lang.invoke.MethodHandle} of the single static 
+     * {@link net.tascalate.async.SchedulerProvider} field / getter declared by the method owner class
+     */
+    public static final String CLASS_SCHEDULER_PROVIDER_HINT = "class-scheduler-provider";
+    
     private final String name;
     private final Class<?> returnType;
     private final Class<?>[] argumentTypes;
+    private final Map<String, Object> hints;
     
-    private MethodDefinition(String name, Class<?> returnType, Class<?>[] argumentTypes) {
+    private MethodDefinition(String name, Class<?> returnType, Class<?>[] argumentTypes, Map<String, Object> hints) {
         this.name = name;
         this.returnType = returnType;
         this.argumentTypes = argumentTypes;
+        this.hints = hints;
     }
     
     public static MethodDefinition create(String name, Class<?> returnType, Class<?>... argumentTypes) {
-        return new MethodDefinition(name, returnType, argumentTypes);
+        return new MethodDefinition(name, returnType, argumentTypes, Collections.emptyMap());
+    }
+    
+    /**
+     * Creates a copy of this definition with facts discovered by the bytecode enhancer at build time.
+     * Resolvers may use hints to skip the reflective search, but must treat missing hint as "unknown".
+     * @param hints hints by name
+     * @return the method definition with hints
+     */
+    public MethodDefinition withHints(Map<String, ?> hints) {
+        return new MethodDefinition(name, returnType, argumentTypes, Collections.unmodifiableMap(hints));
     }
 
     public String getName() {
@@ -54,6 +79,11 @@ public final class MethodDefinition {
         return argumentTypes;
     }
     
+    public <T> T getHint(String name, Class<T> type) {
+        Object hint = hints.get(name);
+        return type.isInstance(hint) ? type.cast(hint) : null;
+    }
+    
     @Override
     public String toString( ) {
         return returnType.getName() + " " + name + 
@@ -37,6 +37,7 @@ import java.util.stream.Stream;
 
 import net.tascalate.async.Scheduler;
 import net.tascalate.async.util.Cache;
+import net.tascalate.async.util.ClassCache;
 import net.tascalate.async.util.ReferenceType;
 
 public abstract class PerMethodSchedulerResolver<C, M> implements SchedulerResolver {
@@ -75,18 +76,29 @@ public abstract class PerMethodSchedulerResolver<C, M> implements SchedulerResol
         }
     }
 
-    private final Cache<Class<?>, PerClassAttributes<C, M>> perClassAttributes = new Cache<>(ReferenceType.WEAK, ReferenceType.SOFT);
+    private final ClassCache<PerClassAttributes<C, M>> perClassAttributes = new ClassCache<>(ReferenceType.SOFT);
     
     protected final ClassLookup<C> lookupByClass;
     protected final MethodLookup<M> lookupByMethod;
     
+    private final boolean customResolve;
+    
     protected PerMethodSchedulerResolver(ClassLookup<C> lookupByClass, MethodLookup<M> lookupByMethod) {
         this.lookupByClass = lookupByClass;
         this.lookupByMethod = lookupByMethod;
+        this.customResolve = isResolveOverridden(getClass());
     }
     
     abstract protected Scheduler createClassScheduler(C attributes, Object owner, MethodHandles.Lookup ownerClassLookup);
     
+    /**
+     * @return true if schedulers created by this resolver depend on the attributes only (not on the owner 
+     * or the invocation), so the binding for the call site is {@link SchedulerResolver#constant(Scheduler)}
+     */
+    protected boolean isOwnerIndependent() {
+        return false;
+    }
+    
     abstract protected Scheduler createMethodScheduler(M attributes, Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef);
 
     @Override
@@ -95,15 +107,7 @@ public abstract class PerMethodSchedulerResolver<C, M> implements SchedulerResol
             return null;
         }
         
-        Class<?> lookupClass = ownerClassLookup.lookupClass();
-        Class<?> startingClass;
-        if (null != owner && lookupClass.isAssignableFrom(owner.getClass())) {
-            startingClass = owner.getClass();
-        } else {
-            startingClass = lookupClass;
-        }
-        
-        Pair<C, M> pair = findAttributes(ownerClassLookup, startingClass, methodDef);
+        Pair<C, M> pair = findAttributes(ownerClassLookup, startingClass(owner, ownerClassLookup), methodDef);
         if (lookupByMethod.isEmpty(pair.methodAttributes)) {
             if (lookupByClass.isEmpty(pair.classAttributes)) {
                 return null;
@@ -115,6 +119,44 @@ public abstract class PerMethodSchedulerResolver<C, M> implements SchedulerResol
         }
     }
     
+    @Override
+    public SchedulerResolver bind(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+        if (customResolve) {
+            // Subclass changes resolution logic, so it's unsafe to bind by attributes only
+            return this;
+        }
+        if (null == methodDef) {
+            return SchedulerResolver.none();
+        }
+        
+        Pair<C, M> pair = findAttributes(ownerClassLookup, startingClass(owner, ownerClassLookup), methodDef);
+        if (lookupByMethod.isEmpty(pair.methodAttributes)) {
+            if (lookupByClass.isEmpty(pair.classAttributes)) {
+                return SchedulerResolver.none();
+            } else if (isOwnerIndependent()) {
+                return SchedulerResolver.constant(createClassScheduler(pair.classAttributes, owner, ownerClassLookup));
+            } else {
+                C classAttributes = pair.classAttributes;
+                return new BoundResolver(this) {
+                    @Override
+                    public Scheduler resolve(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+                        return createClassScheduler(classAttributes, owner, ownerClassLookup);
+                    }
+                };
+            }
+        } else if (isOwnerIndependent()) {
+            return SchedulerResolver.constant(createMethodScheduler(pair.methodAttributes, owner, ownerClassLookup, methodDef));
+        } else {
+            M methodAttributes = pair.methodAttributes;
+            return new BoundResolver(this) {
+                @Override
+                public Scheduler resolve(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+                    return createMethodScheduler(methodAttributes, owner, ownerClassLookup, methodDef);
+                }
+            };
+        }
+    }
+    
     protected Pair<C, M> findAttributes(MethodHandles.Lookup ownerClassLookup, Class<?> targetClass, MethodDefinition methodDef) {
         PerClassAttributes<C, M> perClass = perClassAttributes.get(targetClass, cls -> {
             C classAttributes = findClassAttributes(ownerClassLookup, cls, new HashSet<>());
@@ -171,6 +213,24 @@ public abstract class PerMethodSchedulerResolver<C, M> implements SchedulerResol
         
     }
     
+    private static boolean isResolveOverridden(Class<?> clazz) {
+        try {
+            Method m = clazz.getMethod("resolve", Object.class, MethodHandles.Lookup.class, MethodDefinition.class);
+            return m.getDeclaringClass() != PerMethodSchedulerResolver.class;
+        } catch (NoSuchMethodException | SecurityException ex) {
+            return true;
+        }
+    }
+    
+    private static Class<?> startingClass(Object owner, MethodHandles.Lookup ownerClassLookup) {
+        Class<?> lookupClass = ownerClassLookup.lookupClass();
+        if (null != owner && lookupClass.isAssignableFrom(owner.getClass())) {
+            return owner.getClass();
+        } else {
+            return lookupClass;
+        }
+    }
+    
     protected static boolean isVisibleTo(Class<?> subClass, Member member) {
         Class<?> declaringClass = member.getDeclaringClass();
         if (!declaringClass.isAssignableFrom(subClass)) {
@@ -190,6 +250,24 @@ public abstract class PerMethodSchedulerResolver<C, M> implements SchedulerResol
         }
     }
     
+    abstract static class BoundResolver implements SchedulerResolver {
+        private final SchedulerResolver origin;
+        
+        BoundResolver(SchedulerResolver origin) {
+            this.origin = origin;
+        }
+        
+        @Override
+        public int priority() {
+            return origin.priority();
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%s[origin=%s]", getClass().getSimpleName(), origin);
+        }
+    }
+    
     public static class ClassLookupByAnnotation<A extends Annotation> extends ClassLookup<Optional<A>> {
         protected final Class<A> annotationClass;
         protected ClassLookupByAnnotation(Class<A> annotationClass) {
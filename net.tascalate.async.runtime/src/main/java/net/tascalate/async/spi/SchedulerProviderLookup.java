@@ -24,8 +24,12 @@
  */
 package net.tascalate.async.spi;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
 import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleInfo;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
@@ -37,15 +41,21 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import net.tascalate.async.Scheduler;
 import net.tascalate.async.SchedulerProvider;
-import net.tascalate.async.util.Cache;
+import net.tascalate.async.util.ClassCache;
 import net.tascalate.async.util.ReferenceType;
 
 public class SchedulerProviderLookup {
+    private static final Logger log = LoggerFactory.getLogger(SchedulerProviderLookup.class);
     
     abstract public static class Accessor {
         abstract protected boolean isVisibleTo(Class<?> subClass);
@@ -99,11 +109,15 @@ public class SchedulerProviderLookup {
     
     static final class ReadClassField extends ClassAccessor {
         final private Field field;
-        final private MethodHandle getter;
+        final private Supplier<Object> getter;
+        final private boolean isFinal;
+        // Static final field can't change once assigned, but may be read while the class is initialized
+        private volatile Object value;
         
         ReadClassField(Field field, MethodHandles.Lookup ownerClassLookup) throws IllegalAccessException {
             this.field = field;
-            this.getter = ownerClassLookup.unreflectGetter(field);
+            this.getter = classGetter(ownerClassLookup.unreflectGetter(field));
+            this.isFinal = Modifier.isFinal(field.getModifiers());
         }
         
         @Override
@@ -113,7 +127,14 @@ public class SchedulerProviderLookup {
         
         @Override
         protected final Object doRead() throws Throwable {
-            return getter.invoke();
+            Object result = value;
+            if (null == result) {
+                result = getter.get();
+                if (isFinal) {
+                    value = result;
+                }
+            }
+            return result;
         }
         
         @Override
@@ -124,11 +145,12 @@ public class SchedulerProviderLookup {
     
     static final class ReadInstanceField extends InstanceAccessor {
         final private Field field;
-        final private MethodHandle getter;
+        final private Function<Object, Object> getter;
         
         ReadInstanceField(Field field, MethodHandles.Lookup ownerClassLookup) throws IllegalAccessException {
             this.field = field;
-            this.getter = ownerClassLookup.unreflectGetter(field);
+            // LambdaMetafactory doesn't accept field getters, hence the method handle invocation
+            this.getter = instanceGetter(ownerClassLookup.unreflectGetter(field));
         }
         
         @Override
@@ -138,7 +160,7 @@ public class SchedulerProviderLookup {
         
         @Override
         protected final Object doRead(Object target) throws Throwable {
-            return getter.invoke(target);
+            return getter.apply(target);
         }
         
         @Override
@@ -149,11 +171,18 @@ public class SchedulerProviderLookup {
     
     static final class InvokeClassGetter extends ClassAccessor {
         final private Method method;
-        final private MethodHandle getter;
+        final private Supplier<Object> getter;
         
         InvokeClassGetter(Method method, MethodHandles.Lookup ownerClassLookup) throws IllegalAccessException {
             this.method = method;
-            this.getter = ownerClassLookup.unreflect(method);
+            MethodHandle handle = ownerClassLookup.unreflect(method);
+            Supplier<Object> getter = null;
+            if (canSpinLambda(method, ownerClassLookup)) {
+                getter = spinLambda(
+                    Supplier.class, "get", handle, ownerClassLookup, MethodType.methodType(Object.class)
+                );
+            }
+            this.getter = null != getter ? getter : classGetter(handle);
         }
         
         @Override
@@ -163,7 +192,7 @@ public class SchedulerProviderLookup {
         
         @Override
         protected final Object doRead() throws Throwable {
-            return getter.invoke();
+            return getter.get();
         }
         
         @Override
@@ -174,11 +203,18 @@ public class SchedulerProviderLookup {
     
     static final class InvokeInstanceGetter extends InstanceAccessor {
         final private Method method;
-        final private MethodHandle getter;
+        final private Function<Object, Object> getter;
         
         InvokeInstanceGetter(Method method, MethodHandles.Lookup ownerClassLookup) throws IllegalAccessException {
             this.method = method;
-            this.getter = ownerClassLookup.unreflect(method);
+            MethodHandle handle = ownerClassLookup.unreflect(method);
+            Function<Object, Object> getter = null;
+            if (canSpinLambda(method, ownerClassLookup)) {
+                getter = spinLambda(
+                    Function.class, "apply", handle, ownerClassLookup, MethodType.methodType(Object.class, Object.class)
+                );
+            }
+            this.getter = null != getter ? getter : instanceGetter(handle);
         }
         
         @Override
@@ -188,7 +224,7 @@ public class SchedulerProviderLookup {
         
         @Override
         protected final Object doRead(Object target) throws Throwable {
-            return getter.invoke(target);
+            return getter.apply(target);
         }
         
         @Override
@@ -197,6 +233,95 @@ public class SchedulerProviderLookup {
         }        
     }
     
+    private static boolean canSpinLambda(Method method, MethodHandles.Lookup ownerClassLookup) {
+        // Generated class is defined in the lookup class, so it must be able to link the target 
+        // without help of setAccessible: either own member or public member of the public class
+        Class<?> declaringClass = method.getDeclaringClass();
+        if (declaringClass == ownerClassLookup.lookupClass()) {
+            return 0 != (ownerClassLookup.lookupModes() & MethodHandles.Lookup.PRIVATE);
+        } else {
+            return Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(declaringClass.getModifiers());
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T spinLambda(Class<? super T> functionalInterface, String methodName, MethodHandle handle, 
+                                    MethodHandles.Lookup ownerClassLookup, MethodType erasedType) {
+        try {
+            CallSite site = LambdaMetafactory.metafactory(
+                ownerClassLookup, methodName, MethodType.methodType(functionalInterface), 
+                erasedType, handle, handle.type()
+            );
+            return (T)site.getTarget().invoke();
+        } catch (Throwable ex) {
+            // Caller falls back to the method handle invocation
+            log.warn("Unable to spin accessor for " + handle + ", method handle invocation will be used", ex);
+            return null;
+        }
+    }
+    
+    private static Supplier<Object> classGetter(MethodHandle handle) {
+        MethodHandle exact = handle.asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return exact.invokeExact();
+            } catch (Error | RuntimeException ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new RuntimeException(ex);
+            }
+        };
+    }
+    
+    private static Function<Object, Object> instanceGetter(MethodHandle handle) {
+        MethodHandle exact = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return target -> {
+            try {
+                return exact.invokeExact(target);
+            } catch (Error | RuntimeException ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new RuntimeException(ex);
+            }
+        };
+    }
+    
+    /**
+     * Creates the accessor for the instance {@link SchedulerProvider} field / getter reported by the
+     * bytecode enhancer, see {@link MethodDefinition#INSTANCE_SCHEDULER_PROVIDER_HINT}
+     * @param getter direct method handle of the member declared by the lookup class
+     * @param ownerClassLookup lookup of the method owner class
+     * @return the accessor or null if the handle can't be cracked
+     */
+    public static InstanceAccessor instanceAccessorOf(MethodHandle getter, MethodHandles.Lookup ownerClassLookup) {
+        return (InstanceAccessor)accessorOf(getter, ownerClassLookup, Kind.INSATNCE);
+    }
+    
+    /**
+     * Creates the accessor for the static {@link SchedulerProvider} field / getter reported by the
+     * bytecode enhancer, see {@link MethodDefinition#CLASS_SCHEDULER_PROVIDER_HINT}
+     * @param getter direct method handle of the member declared by the lookup class
+     * @param ownerClassLookup lookup of the method owner class
+     * @return the accessor or null if the handle can't be cracked
+     */
+    public static ClassAccessor classAccessorOf(MethodHandle getter, MethodHandles.Lookup ownerClassLookup) {
+        return (ClassAccessor)accessorOf(getter, ownerClassLookup, Kind.CLASS);
+    }
+    
+    private static Accessor accessorOf(MethodHandle getter, MethodHandles.Lookup ownerClassLookup, Kind kind) {
+        try {
+            MethodHandleInfo info = ownerClassLookup.revealDirect(getter);
+            Member member = info.reflectAs(Member.class, ownerClassLookup);
+            if (!kind.accept(member)) {
+                return null;
+            }
+            return member instanceof Field ? kind.from((Field)member, ownerClassLookup) : kind.from((Method)member, ownerClassLookup);
+        } catch (IllegalArgumentException | IllegalAccessException | SecurityException ex) {
+            log.warn("Unable to crack scheduler provider handle " + getter + ", reflective search will be used", ex);
+            return null;
+        }
+    }
+    
     static final Accessor NO_ACCESSOR = new Accessor() {
         protected boolean isVisibleTo(Class<?> subClass) {
             return false;
@@ -243,8 +368,8 @@ public class SchedulerProviderLookup {
         }
     }
     
-    private final Cache<Class<?>, Accessor> instanceAccessorsCache = new Cache<>(ReferenceType.WEAK, ReferenceType.SOFT);
-    private final Cache<Class<?>, Accessor> classAccessorsCache = new Cache<>(ReferenceType.WEAK, ReferenceType.SOFT);
+    private final ClassCache<Accessor> instanceAccessorsCache = new ClassCache<>(ReferenceType.SOFT);
+    private final ClassCache<Accessor> classAccessorsCache = new ClassCache<>(ReferenceType.SOFT);
     
     private final boolean inspectSuperclasses;
     private final boolean inspectInterfaces;
@@ -269,7 +394,7 @@ public class SchedulerProviderLookup {
     }
 
     
-    protected Accessor getAccessor(MethodHandles.Lookup ownerClassLookup, Class<?> targetClass, Cache<Class<?>, Accessor> cache, Kind kind, Set<Class<?>> visitedInterfaces) {
+    protected Accessor getAccessor(MethodHandles.Lookup ownerClassLookup, Class<?> targetClass, ClassCache<Accessor> cache, Kind kind, Set<Class<?>> visitedInterfaces) {
         Accessor result = cache.get(
             targetClass,
             c -> {
@@ -280,7 +405,7 @@ public class SchedulerProviderLookup {
         return result == NO_ACCESSOR ? null : result;
     }
     
-    protected Accessor findAccessor(MethodHandles.Lookup ownerClassLookup, Class<?> targetClass, Cache<Class<?>, Accessor> cache, Kind kind, Set<Class<?>> visitedInterfaces) {
+    protected Accessor findAccessor(MethodHandles.Lookup ownerClassLookup, Class<?> targetClass, ClassCache<Accessor> cache, Kind kind, Set<Class<?>> visitedInterfaces) {
         Accessor accessor = findDeclaredAccessor(ownerClassLookup, targetClass, kind);
         if (null != accessor) {
             return accessor;
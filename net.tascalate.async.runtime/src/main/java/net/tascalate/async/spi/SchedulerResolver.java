@@ -28,6 +28,7 @@ import java.lang.invoke.MethodHandles;
 
 import net.tascalate.async.Scheduler;
 import net.tascalate.async.core.InternalCallContext;
+import net.tascalate.async.core.SchedulerCallSite;
 
 public interface SchedulerResolver {
     
@@ -35,6 +36,37 @@ public interface SchedulerResolver {
     
     Scheduler resolve(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef);
     
+    /**
+     * Specializes this resolver for the call site, i.e. the async method <code>methodDef</code> 
+     * invoked on instances of the <code>owner</code> class (or statically when <code>owner</code> is null).
+     * The runtime calls this method once per call site and consults the result on every invocation
+     * instead of this resolver, so the result must be valid for any owner of the same class. 
+     * 
+     * @return this resolver (default) when the outcome depends on the invocation (thread state, owner state etc),
+     * {@link #none()} when the resolver never provides a scheduler for the call site, 
+     * {@link #constant(Scheduler)} when it always provides the same scheduler
+     * or any other resolver specialized for the call site
+     */
+    default SchedulerResolver bind(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+        return this;
+    }
+    
+    public static SchedulerResolver none() {
+        return StaticSchedulerResolver.NONE;
+    }
+    
+    public static SchedulerResolver constant(Scheduler scheduler) {
+        return null == scheduler ? StaticSchedulerResolver.NONE : new StaticSchedulerResolver(scheduler);
+    }
+    
+    /**
+     * Drops results of {@link #bind(Object, MethodHandles.Lookup, MethodDefinition)} cached by the runtime;
+     * must be called when a resolver changes its binding decisions
+     */
+    public static void invalidateBindings() {
+        SchedulerCallSite.invalidateBindings();
+    }
+    
     public static Scheduler callContextScheduler() {
         return InternalCallContext.scheduler(false);
     }
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.spi;
+
+import java.lang.invoke.MethodHandles;
+
+import net.tascalate.async.Scheduler;
+
+/**
+ * Result of {@link SchedulerResolver#bind(Object, MethodHandles.Lookup, MethodDefinition)} 
+ * that does not depend on the invocation, see {@link SchedulerResolver#none()} 
+ * and {@link SchedulerResolver#constant(Scheduler)}.
+ */
+public final class StaticSchedulerResolver implements SchedulerResolver {
+    static final StaticSchedulerResolver NONE = new StaticSchedulerResolver(null);
+    
+    private final Scheduler scheduler;
+    
+    StaticSchedulerResolver(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+    
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+    
+    @Override
+    public int priority() {
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public Scheduler resolve(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+        return scheduler;
+    }
+    
+    @Override
+    public SchedulerResolver bind(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+        return this;
+    }
+    
+    @Override
+    public String toString() {
+        return null == scheduler ? 
+            String.format("%s[<none>]", getClass().getSimpleName())
+            :
+            String.format("%s[scheduler=%s]", getClass().getSimpleName(), scheduler);
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache with optional expiration after write. Eviction follows the CLOCK 
+ * (second chance) approximation of LRU: a hit only marks the entry as referenced, 
+ * so reads are lock-free; when the size limit is exceeded entries are scanned 
+ * in insertion order and the first one not referenced since the previous scan is evicted.
+ * Values are always hard-referenced, keys may be weak / soft.
+ * 
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public class BoundedCache<K, V> {
+    private final KeyedLocks<K> producerMutexes = new KeyedLocks<>();
+    private final ConcurrentMap<Object, Node<V>> valueMap = new ConcurrentHashMap<>();
+    private final Queue<Node<V>> clock = new ConcurrentLinkedQueue<>();
+    
+    private final ReferenceType keyRefType;
+    private final ReferenceQueue<K> queue;
+    private final int maximumSize;
+    private final long expireAfterWriteNanos;
+    
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final AtomicInteger removedInClock = new AtomicInteger();
+    
+    public BoundedCache(ReferenceType keyRefType, int maximumSize) {
+        this(keyRefType, maximumSize, 0);
+    }
+
+    /**
+     * @param keyRefType reference type of keys
+     * @param maximumSize maximum number of entries
+     * @param expireAfterWriteNanos time to live of the entry since it was produced, non-positive for no expiration
+     */
+    public BoundedCache(ReferenceType keyRefType, int maximumSize, long expireAfterWriteNanos) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.keyRefType = keyRefType;
+        this.queue = keyRefType.createKeyReferenceQueue();
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+    }
+    
+    public V get(K key, Function<? super K, ? extends V> producer) {
+        expungeStaleEntries();
+        
+        Object lookupKeyRef = keyRefType.createLookupKey(key);
+        Node<V> node = valueMap.get(lookupKeyRef);
+        if (null != node && isAlive(node)) {
+            V value = node.value;
+            // Avoid writes to the shared line when already marked
+            if (!node.referenced) {
+                node.referenced = true;
+            }
+            hitCount.increment();
+            return value;
+        }
+        
+        V value;
+        try (KeyedLocks.Lock lock = producerMutexes.acquire(key)) {
+            // Double-check after getting mutex
+            node = valueMap.get(lookupKeyRef);
+            if (null != node && isAlive(node)) {
+                hitCount.increment();
+                return node.value;
+            }
+            missCount.increment();
+            value = producer.apply(key);
+            if (null != node && !node.removed) {
+                // Expired entry is refreshed in place, so it keeps its position in the clock
+                node.value = value;
+                node.writeTime = System.nanoTime();
+                node.referenced = true;
+            } else {
+                Node<V> newNode = new Node<>(keyRefType.createKeyReference(key, queue), value, System.nanoTime());
+                valueMap.put(newNode.keyRef, newNode);
+                clock.offer(newNode);
+            }
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+        evictExcessive();
+        return value;
+    }
+    
+    public V remove(K key) {
+        try (KeyedLocks.Lock lock = producerMutexes.acquire(key)) {
+            Node<V> node = valueMap.remove(keyRefType.createLookupKey(key));
+            if (null == node) {
+                return null;
+            }
+            markRemoved(node);
+            return node.value;
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+    
+    public void clear() {
+        for (Node<V> node; (node = clock.poll()) != null;) {
+            node.removed = true;
+            valueMap.remove(node.keyRef, node);
+        }
+    }
+    
+    public int size() {
+        return valueMap.size();
+    }
+    
+    public int maximumSize() {
+        return maximumSize;
+    }
+    
+    public long hitCount() {
+        return hitCount.sum();
+    }
+    
+    public long missCount() {
+        return missCount.sum();
+    }
+    
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s[size=%d, maximumSize=%d, hits=%d, misses=%d, evictions=%d]", 
+                             getClass().getSimpleName(), size(), maximumSize, hitCount(), missCount(), evictionCount());
+    }
+    
+    private boolean isAlive(Node<V> node) {
+        // Write time is published after the value, so it's read first
+        return expireAfterWriteNanos <= 0 || System.nanoTime() - node.writeTime < expireAfterWriteNanos;
+    }
+    
+    private void evict(Node<V> node) {
+        if (valueMap.remove(node.keyRef, node)) {
+            node.removed = true;
+            evictionCount.increment();
+        }
+    }
+    
+    private void markRemoved(Node<V> node) {
+        node.removed = true;
+        // Removed nodes are left in the clock until the scan reaches them,
+        // sweep them explicitly when there are too many
+        if (removedInClock.incrementAndGet() > maximumSize) {
+            synchronized (clock) {
+                removedInClock.set(0);
+                clock.removeIf(n -> n.removed);
+            }
+        }
+    }
+    
+    private void evictExcessive() {
+        if (valueMap.size() <= maximumSize) {
+            return;
+        }
+        synchronized (clock) {
+            while (valueMap.size() > maximumSize) {
+                Node<V> node = clock.poll();
+                if (null == node) {
+                    return;
+                }
+                if (node.removed) {
+                    // Already dropped by remove / collected key
+                    continue;
+                }
+                if (node.referenced && isAlive(node)) {
+                    // Second chance
+                    node.referenced = false;
+                    clock.offer(node);
+                } else {
+                    evict(node);
+                }
+            }
+        }
+    }
+    
+    private void expungeStaleEntries() {
+        if (null == queue) {
+            return;
+        }
+        for (Reference<? extends K> ref; (ref = queue.poll()) != null;) {
+            // Key reference is equal only to itself once referent is cleared
+            Node<V> node = valueMap.remove(ref);
+            if (null != node) {
+                markRemoved(node);
+            }
+        }
+    }
+    
+    static final class Node<V> {
+        final Object keyRef;
+        volatile V value;
+        volatile long writeTime;
+        volatile boolean referenced;
+        volatile boolean removed;
+        
+        Node(Object keyRef, V value, long writeTime) {
+            this.keyRef = keyRef;
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.util;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Unbounded multi-producer queue built from linked fixed-size array chunks.
+ * Offer costs a single atomic increment and allocates only when a chunk is full 
+ * (once per <code>chunkSize</code> items). Intended for a single consumer, though 
+ * concurrent <code>poll</code> is safe. <code>null</code> items are not permitted.
+ *
+ * @param <T> the type of items
+ */
+public final class ChunkedArrayQueue<T> {
+    private static final AtomicReferenceFieldUpdater<ChunkedArrayQueue<?>, Chunk<?>> HEAD_UPDATER = 
+            AtomicReferenceFieldUpdater.newUpdater(TypeUtil.cast(ChunkedArrayQueue.class), TypeUtil.cast(Chunk.class), "head");
+    private static final AtomicReferenceFieldUpdater<ChunkedArrayQueue<?>, Chunk<?>> TAIL_UPDATER = 
+            AtomicReferenceFieldUpdater.newUpdater(TypeUtil.cast(ChunkedArrayQueue.class), TypeUtil.cast(Chunk.class), "tail");
+    
+    private final int chunkSize;
+    private volatile Chunk<T> head;
+    private volatile Chunk<T> tail;
+    
+    public ChunkedArrayQueue(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        head = tail = new Chunk<>(chunkSize);
+    }
+    
+    public void offer(T item) {
+        if (null == item) {
+            throw new NullPointerException();
+        }
+        while (true) {
+            Chunk<T> currentTail = tail;
+            int idx = Chunk.WRITE_INDEX_UPDATER.getAndIncrement(currentTail);
+            if (idx < chunkSize) {
+                // Volatile write publishes item to consumer
+                currentTail.slots.set(idx, item);
+                return;
+            }
+            // Chunk is full
+            Chunk<T> next = currentTail.next;
+            if (null == next) {
+                Chunk<T> newChunk = new Chunk<>(chunkSize, item);
+                if (Chunk.NEXT_UPDATER.compareAndSet(currentTail, null, newChunk)) {
+                    TAIL_UPDATER.compareAndSet(this, currentTail, newChunk);
+                    return;
+                }
+            } else {
+                // Help lagging producer
+                TAIL_UPDATER.compareAndSet(this, currentTail, next);
+            }
+        }
+    }
+    
+    public T poll() {
+        while (true) {
+            Chunk<T> currentHead = head;
+            int idx = currentHead.readIndex;
+            if (idx < chunkSize) {
+                T item = currentHead.slots.get(idx);
+                if (null == item) {
+                    // Empty or slot is claimed but not published yet
+                    return null;
+                }
+                if (Chunk.READ_INDEX_UPDATER.compareAndSet(currentHead, idx, idx + 1)) {
+                    // Release reference for GC
+                    currentHead.slots.lazySet(idx, null);
+                    return item;
+                }
+            } else {
+                Chunk<T> next = currentHead.next;
+                if (null == next) {
+                    return null;
+                }
+                HEAD_UPDATER.compareAndSet(this, currentHead, next);
+            }
+        }
+    }
+    
+    public T peek() {
+        while (true) {
+            Chunk<T> currentHead = head;
+            int idx = currentHead.readIndex;
+            if (idx < chunkSize) {
+                return currentHead.slots.get(idx);
+            } else {
+                Chunk<T> next = currentHead.next;
+                if (null == next) {
+                    return null;
+                }
+                HEAD_UPDATER.compareAndSet(this, currentHead, next);
+            }
+        }
+    }
+    
+    public boolean isEmpty() {
+        return null == peek();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s[chunk-size=%d, empty=%s]", getClass().getSimpleName(), chunkSize, isEmpty());
+    }
+    
+    static final class Chunk<T> {
+        static final AtomicIntegerFieldUpdater<Chunk<?>> WRITE_INDEX_UPDATER = 
+                AtomicIntegerFieldUpdater.newUpdater(TypeUtil.cast(Chunk.class), "writeIndex");
+        static final AtomicIntegerFieldUpdater<Chunk<?>> READ_INDEX_UPDATER = 
+                AtomicIntegerFieldUpdater.newUpdater(TypeUtil.cast(Chunk.class), "readIndex");
+        static final AtomicReferenceFieldUpdater<Chunk<?>, Chunk<?>> NEXT_UPDATER = 
+                AtomicReferenceFieldUpdater.newUpdater(TypeUtil.cast(Chunk.class), TypeUtil.cast(Chunk.class), "next");
+        
+        final AtomicReferenceArray<T> slots;
+        volatile int writeIndex;
+        volatile int readIndex;
+        volatile Chunk<T> next;
+        
+        Chunk(int size) {
+            slots = new AtomicReferenceArray<>(size);
+        }
+        
+        Chunk(int size, T firstItem) {
+            this(size);
+            // Published via CAS of next
+            slots.lazySet(0, firstItem);
+            writeIndex = 1;
+        }
+    }
+}
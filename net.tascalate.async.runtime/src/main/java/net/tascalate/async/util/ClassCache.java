@@ -0,0 +1,115 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.util;
+
+import java.util.function.Function;
+
+/**
+ * Cache with {@link Class} keys backed by a {@link ClassValue}: entries go away together with 
+ * the key class, cache hits neither allocate nor lock. Unlike {@link Cache} the producer 
+ * is serialized via the monitor of the per-class slot.
+ * <p>
+ * The slot is strongly held by the key class, so only classes defined by the class loader of 
+ * this library or by its descendants are cached via {@link ClassValue}; otherwise the slot 
+ * would pin the library class loader. Other classes (i.e. JDK interfaces or classes of the 
+ * shared libraries) are cached in the weak-keyed {@link Cache}.
+ *
+ * @param <V> the type of values
+ */
+public class ClassCache<V> {
+    private final ClassValue<Slot> slots = new ClassValue<Slot>() {
+        @Override
+        protected Slot computeValue(Class<?> type) {
+            return new Slot();
+        }
+    };
+    
+    private final ReferenceType valueRefType;
+    private final Cache<Class<?>, V> foreignClasses;
+    
+    public ClassCache() {
+        this(ReferenceType.SOFT);
+    }
+    
+    public ClassCache(ReferenceType valueRefType) {
+        this.valueRefType = valueRefType;
+        this.foreignClasses = new Cache<>(ReferenceType.WEAK, valueRefType);
+    }
+    
+    public V get(Class<?> key, Function<? super Class<?>, ? extends V> producer) {
+        if (!isOwned(key)) {
+            return foreignClasses.get(key, producer);
+        }
+        Slot slot = slots.get(key);
+        V value = valueOf(slot);
+        if (null != value) {
+            return value;
+        }
+        synchronized (slot) {
+            // Double-check under slot monitor
+            value = valueOf(slot);
+            if (null == value) {
+                value = producer.apply(key);
+                slot.valueRef = valueRefType.createValueReference(value);
+            }
+        }
+        return value;
+    }
+    
+    public V remove(Class<?> key) {
+        if (!isOwned(key)) {
+            return foreignClasses.remove(key);
+        }
+        Slot slot = slots.get(key);
+        synchronized (slot) {
+            V value = valueOf(slot);
+            slot.valueRef = null;
+            return value;
+        }
+    }
+    
+    private V valueOf(Slot slot) {
+        Object valueRef = slot.valueRef;
+        return null == valueRef ? null : valueRefType.dereference(valueRef);
+    }
+    
+    private static boolean isOwned(Class<?> key) {
+        if (null == LIBRARY_CLASS_LOADER) {
+            return true;
+        }
+        for (ClassLoader cl = key.getClassLoader(); null != cl; cl = cl.getParent()) {
+            if (cl == LIBRARY_CLASS_LOADER) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static final ClassLoader LIBRARY_CLASS_LOADER = ClassCache.class.getClassLoader();
+    
+    static final class Slot {
+        volatile Object valueRef;
+    }
+}
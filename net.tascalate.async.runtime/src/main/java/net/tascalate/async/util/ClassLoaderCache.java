@@ -0,0 +1,127 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.util;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cache with {@link ClassLoader} keys (<code>null</code> key stands for the bootstrap class loader). 
+ * Keys are weakly referenced; entries are kept in a copy-on-write array, so reads are lock-free and 
+ * cache hits do not allocate. Values are produced outside of the lock, so the producer may be 
+ * invoked more than once for the same key concurrently. Intended for a small number of class loaders.
+ *
+ * @param <V> the type of values
+ */
+public class ClassLoaderCache<V> {
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    
+    private final ReferenceType valueRefType;
+    private volatile Entry[] entries = NO_ENTRIES;
+    private volatile Object bootstrapValueRef;
+    
+    public ClassLoaderCache() {
+        this(ReferenceType.SOFT);
+    }
+    
+    public ClassLoaderCache(ReferenceType valueRefType) {
+        this.valueRefType = valueRefType;
+    }
+    
+    public V get(ClassLoader key, Function<? super ClassLoader, ? extends V> producer) {
+        V value = lookup(key);
+        if (null != value) {
+            return value;
+        }
+        // Producer may be slow (i.e. ServiceLoader scan), so it runs outside the lock;
+        // concurrent producers may race, the value published first wins
+        V newValue = producer.apply(key);
+        synchronized (this) {
+            value = lookup(key);
+            if (null != value) {
+                return value;
+            }
+            Object valueRef = valueRefType.createValueReference(newValue);
+            if (null == key) {
+                bootstrapValueRef = valueRef;
+            } else {
+                List<Entry> newEntries = liveEntriesExcept(key);
+                newEntries.add(new Entry(key, valueRef));
+                entries = newEntries.toArray(NO_ENTRIES);
+            }
+        }
+        return newValue;
+    }
+    
+    public synchronized V remove(ClassLoader key) {
+        V value = lookup(key);
+        if (null == key) {
+            bootstrapValueRef = null;
+        } else {
+            entries = liveEntriesExcept(key).toArray(NO_ENTRIES);
+        }
+        return value;
+    }
+    
+    private V lookup(ClassLoader key) {
+        Object valueRef;
+        if (null == key) {
+            valueRef = bootstrapValueRef;
+        } else {
+            valueRef = null;
+            for (Entry entry : entries) {
+                if (entry.get() == key) {
+                    valueRef = entry.valueRef;
+                    break;
+                }
+            }
+        }
+        return null == valueRef ? null : valueRefType.dereference(valueRef);
+    }
+    
+    private List<Entry> liveEntriesExcept(ClassLoader key) {
+        Entry[] current = entries;
+        List<Entry> result = new ArrayList<>(current.length + 1);
+        for (Entry entry : current) {
+            ClassLoader entryKey = entry.get();
+            // Drop entries with collected class loaders as well
+            if (null != entryKey && entryKey != key) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+    
+    static final class Entry extends WeakReference<ClassLoader> {
+        final Object valueRef;
+        
+        Entry(ClassLoader key, Object valueRef) {
+            super(key);
+            this.valueRef = valueRef;
+        }
+    }
+}
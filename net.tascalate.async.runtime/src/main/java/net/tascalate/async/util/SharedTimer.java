@@ -0,0 +1,65 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.util;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single daemon thread that fires delayed actions of the library; 
+ * actions must be short and non-blocking (i.e. complete a future or fire a signal).
+ * <p>
+ * The thread is started on the first scheduled action and exits once no actions 
+ * are pending for {@link #IDLE_TIMEOUT_SECONDS}, to be started again on demand; 
+ * so there is nothing to shut down, and an idle application (or an undeployed 
+ * class loader) doesn't keep the thread. Actions are never executed on the 
+ * {@link net.tascalate.async.Scheduler} of the caller, they just wake it up.
+ */
+public final class SharedTimer {
+    
+    public static final long IDLE_TIMEOUT_SECONDS = 10;
+    
+    private SharedTimer() {}
+    
+    public static ScheduledFuture<?> schedule(Runnable action, long delay, TimeUnit unit) {
+        return Holder.EXECUTOR.schedule(action, delay, unit);
+    }
+    
+    static final class Holder {
+        static final ScheduledThreadPoolExecutor EXECUTOR;
+        static {
+            EXECUTOR = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "tascalate-async-await-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // Batches are cut by size mostly, so cancelled timers are frequent
+            EXECUTOR.setRemoveOnCancelPolicy(true);
+            EXECUTOR.setKeepAliveTime(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            EXECUTOR.allowCoreThreadTimeOut(true);
+        }
+    }
+}
@@ -32,10 +32,13 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import net.tascalate.async.spi.MethodHint;
+
 @Documented
 @Inherited
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.TYPE, ElementType.METHOD})
+@MethodHint(AsyncOnSchedulerResolver.METHOD_QUALIFIER_HINT)
 public @interface AsyncOn {
     Class<? extends Annotation> value();
 }
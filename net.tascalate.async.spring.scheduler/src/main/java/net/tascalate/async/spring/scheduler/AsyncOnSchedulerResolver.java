@@ -43,8 +43,16 @@ import net.tascalate.async.Scheduler;
 import net.tascalate.async.spi.Memoization;
 import net.tascalate.async.spi.MethodDefinition;
 import net.tascalate.async.spi.PerMethodSchedulerResolver;
+import net.tascalate.async.spi.SchedulerResolver;
 
 public class AsyncOnSchedulerResolver extends PerMethodSchedulerResolver.BySingleAnnotation<AsyncOn> {
+    /**
+     * Hint with the qualifier {@link Class} of the {@link AsyncOn} annotation placed on the async method itself,
+     * reported by the bytecode enhancer
+     */
+    public static final String METHOD_QUALIFIER_HINT = "async-on-method-qualifier";
+    
+    private static final int MAX_MEMOIZED_QUALIFIERS = 256;
     
     public static class AsyncOnClassLookup extends ClassLookupByAnnotation<AsyncOn> {
         protected AsyncOnClassLookup() {
@@ -66,7 +74,11 @@ public class AsyncOnSchedulerResolver extends PerMethodSchedulerResolver.BySingl
     
     protected AsyncOnSchedulerResolver(ApplicationContext ctx, ClassLookupByAnnotation<AsyncOn> classLookup, MethodLookupByAnnotation<AsyncOn> methodLookup) {
         super(classLookup, methodLookup);
-        schedulerBeanByQualifier = Memoization.weakKeysHardValues(qualifier -> getQualifiedBean(ctx, Scheduler.class, qualifier));
+        // Qualifiers are annotation classes, so keys are weak not to pin class loaders; 
+        // the bound caps the set of the beans hold in dynamic environments 
+        schedulerBeanByQualifier = Memoization.weakKeysBounded(
+            MAX_MEMOIZED_QUALIFIERS, qualifier -> getQualifiedBean(ctx, Scheduler.class, qualifier)
+        );
     }
 
     @Override
@@ -74,6 +86,27 @@ public class AsyncOnSchedulerResolver extends PerMethodSchedulerResolver.BySingl
         return 600;
     }
 
+    @Override
+    public SchedulerResolver bind(Object owner, MethodHandles.Lookup ownerClassLookup, MethodDefinition methodDef) {
+        // Hint is exact only when the method is not overridden in a subclass with own annotation, 
+        // and when neither lookups nor scheduler creation are customized
+        Class<?> qualifier = null == methodDef || getClass() != AsyncOnSchedulerResolver.class ? null : 
+                             methodDef.getHint(METHOD_QUALIFIER_HINT, Class.class);
+        if (null == qualifier || (null != owner && owner.getClass() != ownerClassLookup.lookupClass())) {
+            return super.bind(owner, ownerClassLookup, methodDef);
+        }
+        @SuppressWarnings("unchecked")
+        Class<? extends Annotation> annotationClass = (Class<? extends Annotation>)qualifier;
+        // Same as the unhinted owner-independent binding, the bean is refreshed via invalidateBindings()
+        return SchedulerResolver.constant(schedulerBeanByQualifier.apply(annotationClass));
+    }
+
+    @Override
+    protected boolean isOwnerIndependent() {
+        // Scheduler is a bean selected by the qualifier only, unless creation is customized
+        return getClass() == AsyncOnSchedulerResolver.class;
+    }
+
     @Override
     protected Scheduler createClassScheduler(Optional<AsyncOn> annotation, Object owner, MethodHandles.Lookup declaringClassLookup) {
         return createScheduler(annotation.get().value(), owner, declaringClassLookup);
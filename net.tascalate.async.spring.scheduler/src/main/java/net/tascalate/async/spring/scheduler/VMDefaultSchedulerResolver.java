@@ -51,9 +51,18 @@ public class VMDefaultSchedulerResolver implements SchedulerResolver {
         return null == delegate ? null : delegate.resolve(owner, ownerClassLookup, methodDef);
     }
 
+    @Override
+    public SchedulerResolver bind(Object owner, Lookup ownerClassLookup, MethodDefinition methodDef) {
+        SchedulerResolver delegate = DELEGATE;
+        // Until delegate is installed this resolver must be consulted on every call
+        return null == delegate ? this : delegate.bind(owner, ownerClassLookup, methodDef);
+    }
+
     public static void install(SchedulerResolver delegate) {
         if (INSTALLED.compareAndSet(false, true)) {
             DELEGATE = delegate;
+            // Call sites linked before may have folded the pre-install resolution 
+            SchedulerResolver.invalidateBindings();
         } else {
             throw new IllegalStateException("VM Scheduler Resolver delegate was already installed");
         }
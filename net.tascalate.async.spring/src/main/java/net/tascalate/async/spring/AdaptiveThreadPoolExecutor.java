@@ -0,0 +1,167 @@
+/**
+ * Copyright 2015-2025 Valery Silaev (http://vsilaev.com)
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+
+ * * Redistributions of source code must retain the above copyright notice, this
+ *   list of conditions and the following disclaimer.
+
+ * * Redistributions in binary form must reproduce the above copyright notice,
+ *   this list of conditions and the following disclaimer in the documentation
+ *   and/or other materials provided with the distribution.
+
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.tascalate.async.spring;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ThreadPoolExecutor} that periodically re-sizes its core pool within 
+ * [minimumPoolSize, maximumPoolSize] bounds. 
+ * <p>The required number of threads is estimated by Little's law as 
+ * <code>throughput * average-run-time</code> observed over the last interval; 
+ * the pool additionally grows while queue delay exceeds the target and shrinks 
+ * only when queue delay is well below it.
+ */
+public class AdaptiveThreadPoolExecutor extends ThreadPoolExecutor {
+    
+    private final int minimumPoolSize;
+    private final long targetQueueDelayNanos;
+    private final long adjustmentIntervalNanos;
+    
+    private final LongAdder completedTasks = new LongAdder();
+    private final LongAdder totalQueueDelay = new LongAdder();
+    private final LongAdder totalRunTime = new LongAdder();
+    private final AtomicLong lastAdjustment;
+
+    public AdaptiveThreadPoolExecutor(int minimumPoolSize, int maximumPoolSize, 
+                                      long keepAliveTime, TimeUnit unit, 
+                                      BlockingQueue<Runnable> workQueue, 
+                                      ThreadFactory threadFactory,
+                                      long targetQueueDelay, long adjustmentInterval, TimeUnit adjustmentUnit) {
+        super(minimumPoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory);
+        if (targetQueueDelay <= 0 || adjustmentInterval <= 0) {
+            throw new IllegalArgumentException("Target queue delay and adjustment interval must be positive");
+        }
+        this.minimumPoolSize = minimumPoolSize;
+        this.targetQueueDelayNanos = adjustmentUnit.toNanos(targetQueueDelay);
+        this.adjustmentIntervalNanos = adjustmentUnit.toNanos(adjustmentInterval);
+        this.lastAdjustment = new AtomicLong(System.nanoTime());
+    }
+    
+    public int getMinimumPoolSize() {
+        return minimumPoolSize;
+    }
+    
+    @Override
+    public void execute(Runnable command) {
+        long now = System.nanoTime();
+        super.execute(new TimedTask(command, now));
+        adjustPoolSizeIfNecessary(now);
+    }
+    
+    @Override
+    public List<Runnable> shutdownNow() {
+        return super.shutdownNow()
+                    .stream()
+                    .map(r -> r instanceof TimedTask ? ((TimedTask)r).delegate : r)
+                    .collect(Collectors.toList());
+    }
+    
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        if (r instanceof TimedTask) {
+            TimedTask task = (TimedTask)r;
+            task.startedAt = System.nanoTime();
+            totalQueueDelay.add(task.startedAt - task.enqueuedAt);
+        }
+        super.beforeExecute(t, r);
+    }
+    
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        if (r instanceof TimedTask) {
+            long now = System.nanoTime();
+            totalRunTime.add(now - ((TimedTask)r).startedAt);
+            completedTasks.increment();
+            adjustPoolSizeIfNecessary(now);
+        }
+    }
+    
+    private void adjustPoolSizeIfNecessary(long now) {
+        long last = lastAdjustment.get();
+        long elapsed = now - last;
+        if (elapsed < adjustmentIntervalNanos || !lastAdjustment.compareAndSet(last, now) || isShutdown()) {
+            return;
+        }
+        long completed = completedTasks.sumThenReset();
+        long queueDelay = totalQueueDelay.sumThenReset();
+        long runTime = totalRunTime.sumThenReset();
+        
+        // Completed tasks say nothing about tasks that are stuck in queue (all workers are blocked),
+        // so the age of the oldest queued task is taken into account as well
+        long averageQueueDelay = completed > 0 ? queueDelay / completed : 0;
+        Runnable head = getQueue().peek();
+        if (head instanceof TimedTask) {
+            averageQueueDelay = Math.max(averageQueueDelay, now - ((TimedTask)head).enqueuedAt);
+        }
+        
+        int current = getCorePoolSize();
+        // Little's law: busy threads = arrival rate * time in system
+        double busyThreads = completed > 0 ? (double)runTime / elapsed : 0;
+        int next;
+        if (averageQueueDelay > targetQueueDelayNanos) {
+            next = Math.max(current + 1, (int)Math.ceil(busyThreads * averageQueueDelay / targetQueueDelayNanos));
+        } else if (averageQueueDelay < targetQueueDelayNanos / 2) {
+            next = Math.min(current, (int)Math.ceil(busyThreads * 1.25));
+        } else {
+            next = current;
+        }
+        next = Math.max(minimumPoolSize, Math.min(getMaximumPoolSize(), next));
+        if (next != current) {
+            setCorePoolSize(next);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return super.toString() + String.format(
+            "[minimum pool size = %d, target queue delay = %dns]", minimumPoolSize, targetQueueDelayNanos
+        );
+    }
+    
+    static final class TimedTask implements Runnable {
+        final Runnable delegate;
+        final long enqueuedAt;
+        long startedAt;
+        
+        TimedTask(Runnable delegate, long enqueuedAt) {
+            this.delegate = delegate;
+            this.enqueuedAt = enqueuedAt;
+        }
+        
+        @Override
+        public void run() {
+            delegate.run();
+        }
+    }
+}
@@ -38,11 +38,27 @@ import org.springframework.stereotype.Component;
 @Component
 @ConfigurationProperties(prefix = "async-await.executor")
 public class AsyncAwaitExecutorProperties {
+    public static enum SizingMode {
+        FIXED, ADAPTIVE;
+    }
+    
+    private SizingMode sizingMode = SizingMode.FIXED;
     private IntValueFormula corePoolSize = IntValueFormula.scale(1, 1);
-    private IntValueFormula maximumPoolSize = IntValueFormula.scale(1, 1);
+    // Not set means the default of the sizing mode
+    private IntValueFormula maximumPoolSize;
     private Duration keepAliveTime = Duration.ofMinutes(1);
     private IntValueFormula workQueueSize = IntValueFormula.constant(Integer.MAX_VALUE);
     private String threadNamePrefix = "async-await-scheduler-thread_";
+    private Duration targetQueueDelay = Duration.ofMillis(10);
+    private Duration sizingInterval = Duration.ofSeconds(1);
+    
+    public SizingMode getSizingMode() {
+        return sizingMode;
+    }
+    
+    public void setSizingMode(SizingMode sizingMode) {
+        this.sizingMode = sizingMode;
+    }
     
     public IntValueFormula getCorePoolSize() {
         return corePoolSize;
@@ -84,13 +100,45 @@ public class AsyncAwaitExecutorProperties {
         this.threadNamePrefix = threadNamePrefix;
     }
     
+    public Duration getTargetQueueDelay() {
+        return targetQueueDelay;
+    }
+    
+    public void setTargetQueueDelay(Duration targetQueueDelay) {
+        this.targetQueueDelay = targetQueueDelay;
+    }
+    
+    public Duration getSizingInterval() {
+        return sizingInterval;
+    }
+    
+    public void setSizingInterval(Duration sizingInterval) {
+        this.sizingInterval = sizingInterval;
+    }
+    
     public ExecutorService createExecutorService() {
         Runtime rt = Runtime.getRuntime();
         int cores = rt.availableProcessors();
         int corePoolSizeValue = corePoolSize == null ? cores : corePoolSize.applyAsInt(cores);
-        int maximumPoolSizeValue = maximumPoolSize == null ? cores : maximumPoolSize.applyAsInt(cores); 
+        IntValueFormula maximumPoolSizeFormula = maximumPoolSize != null ? maximumPoolSize :
+                                                 sizingMode == SizingMode.ADAPTIVE ? DEFAULT_ADAPTIVE_MAXIMUM_POOL_SIZE : null;
+        int maximumPoolSizeValue = maximumPoolSizeFormula == null ? cores : maximumPoolSizeFormula.applyAsInt(cores); 
         TimeMeasurment tm = keepAliveTime == null ? new TimeMeasurment(Duration.ofMinutes(1)) : new TimeMeasurment(keepAliveTime);
         int workQueueSizeValue = workQueueSize == null ? Integer.MAX_VALUE : workQueueSize.applyAsInt(cores);
+        if (sizingMode == SizingMode.ADAPTIVE) {
+            // Core pool size is a lower bound here, actual size is adjusted at runtime
+            int minimumPoolSizeValue = corePoolSizeValue > 0 ? corePoolSizeValue : cores; 
+            Duration queueDelay = targetQueueDelay == null ? Duration.ofMillis(10) : targetQueueDelay;
+            Duration interval = sizingInterval == null ? Duration.ofSeconds(1) : sizingInterval;
+            return new AdaptiveThreadPoolExecutor(
+                minimumPoolSizeValue,
+                Math.max(minimumPoolSizeValue, maximumPoolSizeValue > 0 ? maximumPoolSizeValue : cores),
+                tm.amount, tm.unit,
+                new LinkedBlockingDeque<>(workQueueSizeValue > 0 ? workQueueSizeValue : Integer.MAX_VALUE),
+                new NamedThreadFactory(null == threadNamePrefix || threadNamePrefix.isEmpty() ? "async-await-scheduler-thread_" : threadNamePrefix),
+                queueDelay.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS
+            );
+        }
         return new ThreadPoolExecutor(
             corePoolSizeValue > 0 ? corePoolSizeValue : cores, 
             maximumPoolSizeValue > 0 ? maximumPoolSizeValue : cores,
@@ -121,6 +169,9 @@ public class AsyncAwaitExecutorProperties {
         }
     }
     
+    // Otherwise the adaptive pool may not grow above the (default) core pool size
+    private static final IntValueFormula DEFAULT_ADAPTIVE_MAXIMUM_POOL_SIZE = IntValueFormula.scale(4, 1);
+    
     private static final Duration MAX_BY_NANOS  = Duration.ofNanos(Long.MAX_VALUE);
     private static final Duration MAX_BY_MILLIS = Duration.ofMillis(Long.MAX_VALUE);
 }
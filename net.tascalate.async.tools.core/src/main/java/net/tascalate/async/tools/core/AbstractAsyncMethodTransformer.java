@@ -24,6 +24,7 @@
  */
 package net.tascalate.async.tools.core;
 
+import static net.tascalate.async.tools.core.AnnotationIntrospection.annotationPresent;
 import static net.tascalate.async.tools.core.AnnotationIntrospection.invisibleAnnotationsOf;
 import static net.tascalate.async.tools.core.AnnotationIntrospection.invisibleParameterAnnotationsOf;
 import static net.tascalate.async.tools.core.AnnotationIntrospection.invisibleTypeAnnotationsOf;
@@ -32,7 +33,9 @@ import static net.tascalate.async.tools.core.AnnotationIntrospection.visiblePara
 import static net.tascalate.async.tools.core.AnnotationIntrospection.visibleTypeAnnotationsOf;
 import static net.tascalate.asmx.Opcodes.*;
 
+import java.lang.invoke.CallSite;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -94,6 +97,15 @@ abstract public class AbstractAsyncMethodTransformer {
     private final static Type TASCALATE_PROMISE_TYPE      = Type.getObjectType("net/tascalate/concurrent/Promise");
     private final static Type TASCALATE_PROMISES_TYPE     = Type.getObjectType("net/tascalate/concurrent/Promises");
     
+    private final static Handle SCHEDULER_CALL_SITE_BOOTSTRAP = new Handle(
+        H_INVOKESTATIC, "net/tascalate/async/core/SchedulerCallSite", "bootstrap",
+        Type.getMethodDescriptor(
+            Type.getType(CallSite.class), METHOD_HANDLES_LOOKUP_TYPE, STRING_TYPE, Type.getType(MethodType.class), CLASS_TYPE, 
+            Type.getType(Object[].class)
+        ),
+        false
+    );
+    
     private final AsyncAwaitClassState classState;
 
     protected final ClassNode classNode;
@@ -410,16 +422,24 @@ abstract public class AbstractAsyncMethodTransformer {
         } else {
             result.visitVarInsn(ALOAD, 0);
         }
-        // result.visitLdcInsn(Type.getObjectType(classNode.name));
-        result.visitMethodInsn(
-            INVOKESTATIC, METHOD_HANDLES_TYPE.getInternalName(), "lookup", 
-            Type.getMethodDescriptor(METHOD_HANDLES_LOOKUP_TYPE), false
-        );
-        result.visitFieldInsn(Opcodes.GETSTATIC, asyncTaskClassName, "__METHOD_DEFINITION", METHOD_DEFINITION_TYPE.getDescriptor());
-        result.visitMethodInsn(
-            INVOKESTATIC, ASYNC_METHOD_EXECUTOR_TYPE.getInternalName(), "currentScheduler", 
-            Type.getMethodDescriptor(SCHEDULER_TYPE, SCHEDULER_TYPE, OBJECT_TYPE, METHOD_HANDLES_LOOKUP_TYPE, METHOD_DEFINITION_TYPE), false
-        );
+        if ((classNode.version & 0x0000FFFF) >= V1_7) {
+            // Per-call-site resolution, may be re-linked to the constant scheduler
+            result.visitInvokeDynamicInsn(
+                "scheduler", Type.getMethodDescriptor(SCHEDULER_TYPE, SCHEDULER_TYPE, OBJECT_TYPE), 
+                SCHEDULER_CALL_SITE_BOOTSTRAP, schedulerCallSiteArgs(asyncTaskClassName, isStatic)
+            );
+        } else {
+            // result.visitLdcInsn(Type.getObjectType(classNode.name));
+            result.visitMethodInsn(
+                INVOKESTATIC, METHOD_HANDLES_TYPE.getInternalName(), "lookup", 
+                Type.getMethodDescriptor(METHOD_HANDLES_LOOKUP_TYPE), false
+            );
+            result.visitFieldInsn(Opcodes.GETSTATIC, asyncTaskClassName, "__METHOD_DEFINITION", METHOD_DEFINITION_TYPE.getDescriptor());
+            result.visitMethodInsn(
+                INVOKESTATIC, ASYNC_METHOD_EXECUTOR_TYPE.getInternalName(), "currentScheduler", 
+                Type.getMethodDescriptor(SCHEDULER_TYPE, SCHEDULER_TYPE, OBJECT_TYPE, METHOD_HANDLES_LOOKUP_TYPE, METHOD_DEFINITION_TYPE), false
+            );
+        }
         
         String constructorDesc = Type.getMethodDescriptor(
             Type.VOID_TYPE, 
@@ -591,6 +611,70 @@ abstract public class AbstractAsyncMethodTransformer {
         return result;
     }
     
+    private Object[] schedulerCallSiteArgs(String asyncTaskClassName, boolean isStatic) {
+        List<Object> result = new ArrayList<>();
+        result.add(Type.getObjectType(asyncTaskClassName));
+        // Hints are pairs of name & constant, see net.tascalate.async.spi.MethodDefinition
+        Handle provider = declaredSchedulerProvider(isStatic);
+        if (null != provider) {
+            result.add(isStatic ? "class-scheduler-provider" : "instance-scheduler-provider");
+            result.add(provider);
+        }
+        // Annotations marked with @MethodHint pass their class value under the declared hint name
+        for (AnnotationNode annotation : visibleAnnotationsOf(originalAsyncMethod)) {
+            String hintName = null == annotation.values ? null : classState.methodHintNameOf(annotation);
+            if (null == hintName) {
+                continue;
+            }
+            for (int i = 0; i + 1 < annotation.values.size(); i += 2) {
+                if ("value".equals(annotation.values.get(i)) && annotation.values.get(i + 1) instanceof Type) {
+                    result.add(hintName);
+                    result.add(annotation.values.get(i + 1));
+                }
+            }
+        }
+        return result.toArray();
+    }
+    
+    private Handle declaredSchedulerProvider(boolean isStatic) {
+        // Mirrors the first step of the runtime SchedulerProviderLookup: the hint is
+        // produced only if there is exactly one candidate declared by the class itself
+        boolean isInterface = (classNode.access & ACC_INTERFACE) != 0;
+        String providerDesc = SCHEDULER_PROVIDER_TYPE.getDescriptor();
+        int candidatesCount = 0;
+        Handle result = null;
+        for (FieldNode field : classNode.fields) {
+            if (((field.access & ACC_STATIC) != 0) != isStatic || 
+                !annotationPresent(visibleAnnotationsOf(field), providerDesc)) {
+                continue;
+            }
+            candidatesCount++;
+            if (SCHEDULER_TYPE.getDescriptor().equals(field.desc)) {
+                result = new Handle(isStatic ? H_GETSTATIC : H_GETFIELD, classNode.name, field.name, field.desc, false);
+            }
+        }
+        for (MethodNode method : classNode.methods) {
+            if (((method.access & ACC_STATIC) != 0) != isStatic ||
+                (method.access & (ACC_SYNTHETIC | ACC_BRIDGE)) != 0 ||
+                !annotationPresent(visibleAnnotationsOf(method), providerDesc)) {
+                continue;
+            }
+            candidatesCount++;
+            if (Type.getMethodDescriptor(SCHEDULER_TYPE).equals(method.desc)) {
+                int tag;
+                if (isStatic) {
+                    tag = H_INVOKESTATIC;
+                } else if ((method.access & ACC_PRIVATE) != 0) {
+                    tag = H_INVOKESPECIAL;
+                } else {
+                    tag = isInterface ? H_INVOKEINTERFACE : H_INVOKEVIRTUAL;
+                }
+                result = new Handle(tag, classNode.name, method.name, method.desc, isInterface);
+            }
+        }
+        return candidatesCount == 1 ? result : null;
+    }
+    
     private int schedulerProviderParamIdx(MethodNode methodNode) {
         int result = -1;
         List<AnnotationNode>[] annotationBatches = visibleParameterAnnotationsOf(methodNode); 
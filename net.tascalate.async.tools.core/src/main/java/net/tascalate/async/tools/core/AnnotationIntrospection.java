@@ -28,6 +28,8 @@ import java.util.Collections;
 import java.util.List;
 
 import net.tascalate.asmx.tree.AnnotationNode;
+import net.tascalate.asmx.tree.ClassNode;
+import net.tascalate.asmx.tree.FieldNode;
 import net.tascalate.asmx.tree.MethodNode;
 import net.tascalate.asmx.tree.TryCatchBlockNode;
 import net.tascalate.asmx.tree.TypeAnnotationNode;
@@ -63,10 +65,18 @@ class AnnotationIntrospection {
         return false;
     }
 
+    static List<AnnotationNode> visibleAnnotationsOf(ClassNode classNode) {
+        return safeAnnotationsList(classNode.visibleAnnotations);
+    }
+    
     static List<AnnotationNode> visibleAnnotationsOf(MethodNode methodNode) {
         return safeAnnotationsList(methodNode.visibleAnnotations);
     }
     
+    static List<AnnotationNode> visibleAnnotationsOf(FieldNode fieldNode) {
+        return safeAnnotationsList(fieldNode.visibleAnnotations);
+    }
+    
     static List<AnnotationNode>[] visibleParameterAnnotationsOf(MethodNode methodNode) {
         return methodNode.visibleParameterAnnotations;
     }
@@ -165,7 +165,7 @@ public class AsyncAwaitClassFileGenerator {
                 AbstractAsyncMethodTransformer transformer = null;
                 if (ASYNC_TASK_RETURN_TYPES.contains(returnType)) {
                     transformer = new AsyncTaskMethodTransformer(classNode, methodNode, classState);
-                } else if (ASYNC_GENERATOR_TYPE.equals(returnType)) {
+                } else if (ASYNC_GENERATOR_TYPE.equals(returnType) || AsyncGeneratorMethodTransformer.isPrimitiveGeneratorType(returnType)) {
                     transformer = new AsyncGeneratorMethodTransformer(classNode, methodNode, classState);
                 } else {
                     // throw ex?
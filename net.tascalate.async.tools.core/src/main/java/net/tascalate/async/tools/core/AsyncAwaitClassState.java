@@ -34,6 +34,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
@@ -42,6 +43,8 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import net.tascalate.asmx.Type;
+import net.tascalate.asmx.tree.AnnotationNode;
 import net.tascalate.asmx.tree.ClassNode;
 import net.tascalate.asmx.tree.FieldNode;
 import net.tascalate.asmx.tree.MethodNode;
@@ -49,6 +52,8 @@ import net.tascalate.asmx.tree.MethodNode;
 final class AsyncAwaitClassState {
     private static final Logger log = LoggerFactory.getLogger(AsyncAwaitClassState.class);
     
+    private static final String METHOD_HINT_DESCRIPTOR = "Lnet/tascalate/async/spi/MethodHint;";
+    
     final ClassNode classNode;
     
     private final BiPredicate<String, String> subclassCheck;
@@ -56,6 +61,8 @@ final class AsyncAwaitClassState {
     private final Map<String, List<String>> nestMemberRequest;
     
     private final Map<String, AsyncAwaitClassState> superclasses = new HashMap<>();
+    // Annotation descriptor -> hint name declared via @MethodHint
+    private final Map<String, Optional<String>> methodHintNames = new HashMap<>();
 
     // Original method's "method name + method desc" -> Access method's
     // MethodNode
@@ -207,6 +214,34 @@ final class AsyncAwaitClassState {
         });
     }
 
+    String methodHintNameOf(AnnotationNode annotation) {
+        return methodHintNames.computeIfAbsent(annotation.desc, this::resolveMethodHintName).orElse(null);
+    }
+    
+    private Optional<String> resolveMethodHintName(String annotationDesc) {
+        ClassNode annotationClassNode;
+        try {
+            annotationClassNode = resolveClassNode.apply(Type.getType(annotationDesc).getInternalName());
+        } catch (RuntimeException ex) {
+            // Annotation class is not available to the enhancer, hence it can't declare hints
+            if (log.isDebugEnabled()) {
+                log.debug("Unable to resolve annotation class " + annotationDesc, ex);
+            }
+            return Optional.empty();
+        }
+        for (AnnotationNode metaAnnotation : visibleAnnotationsOf(annotationClassNode)) {
+            if (!METHOD_HINT_DESCRIPTOR.equals(metaAnnotation.desc) || null == metaAnnotation.values) {
+                continue;
+            }
+            for (int i = 0; i + 1 < metaAnnotation.values.size(); i += 2) {
+                if ("value".equals(metaAnnotation.values.get(i))) {
+                    return Optional.of((String)metaAnnotation.values.get(i + 1));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
     boolean isAsyncMethod(MethodNode methodNode) {
         return hasAsyncAnnotation(methodNode);
     }
@@ -61,19 +61,63 @@ class AsyncGeneratorMethodTransformer extends AbstractAsyncMethodTransformer {
     private final static Type LAZY_GENERATOR_TYPE         = Type.getObjectType("net/tascalate/async/core/LazyGenerator");
     private final static String ASYNC_YIELD_NAME = "net/tascalate/async/AsyncYield";
     
+    // Primitive-specialized generators: return type -> { generator method type, yield type }
+    private final static Map<Type, Type[]> PRIMITIVE_GENERATORS = new HashMap<>();
+    static {
+        for (String kind : new String[] {"Int", "Long", "Double"}) {
+            PRIMITIVE_GENERATORS.put(
+                Type.getObjectType("net/tascalate/async/" + kind + "AsyncGenerator"), 
+                new Type[] {
+                    Type.getObjectType("net/tascalate/async/core/" + kind + "AsyncGeneratorMethod"),
+                    Type.getObjectType("net/tascalate/async/" + kind + "AsyncYield")
+                }
+            );
+        }
+    }
+    
+    private final Type generatorMethodType;
+    private final String primitiveYieldName;
+    
     AsyncGeneratorMethodTransformer(ClassNode classNode, MethodNode originalAsyncMethodNode, AsyncAwaitClassState classState) {
         super(classNode, originalAsyncMethodNode, classState);
+        Type[] primitiveTypes = PRIMITIVE_GENERATORS.get(Type.getReturnType(originalAsyncMethodNode.desc));
+        if (null == primitiveTypes) {
+            generatorMethodType = ASYNC_GENERATOR_METHOD_TYPE;
+            primitiveYieldName  = null;
+        } else {
+            generatorMethodType = primitiveTypes[0];
+            primitiveYieldName  = primitiveTypes[1].getInternalName();
+        }
+    }
+    
+    static boolean isPrimitiveGeneratorType(Type type) {
+        return PRIMITIVE_GENERATORS.containsKey(type);
     }
 
     @Override
     protected ClassNode transform() {
-        return transform(ASYNC_GENERATOR_METHOD_TYPE);
+        return transform(generatorMethodType);
     }
     
     @Override
     protected MethodVisitor createReplacementAsyncMethod(String asyncTaskClassName) {
         return createReplacementAsyncMethod(asyncTaskClassName, ASYNC_GENERATOR_METHOD_TYPE, "generator", LAZY_GENERATOR_TYPE);
     }
+    
+    private boolean isYieldOwner(String owner) {
+        if (ASYNC_YIELD_NAME.equals(owner) || owner.equals(primitiveYieldName)) {
+            return true;
+        }
+        for (Type[] primitiveTypes : PRIMITIVE_GENERATORS.values()) {
+            if (primitiveTypes[1].getInternalName().equals(owner)) {
+                throw new IllegalStateException(
+                    "Method " + classNode.name + "." + originalAsyncMethod.name + 
+                    " yields via " + owner + " but returns " + Type.getReturnType(originalAsyncMethod.desc)
+                );
+            }
+        }
+        return false;
+    }
    
     @Override
     protected MethodVisitor addAnonymousClassRunMethod(ClassNode asyncRunnableClass, FieldNode outerClassField) {
@@ -306,7 +350,7 @@ class AsyncGeneratorMethodTransformer extends AbstractAsyncMethodTransformer {
                         case "async":
                             throw new IllegalStateException("Async result must be used only inside non-generator methods");
                     }
-                } else if (min.getOpcode() == INVOKEVIRTUAL && ASYNC_YIELD_NAME.equals(min.owner) && "yield".equals(min.name)) {
+                } else if (min.getOpcode() == INVOKEVIRTUAL && "yield".equals(min.name) && isYieldOwner(min.owner)) {
                     Type[] args = Type.getArgumentTypes(min.desc);
                     newInstructions.add(new VarInsnNode(ALOAD, 0));
                     if (null != args) {
@@ -314,7 +358,13 @@ class AsyncGeneratorMethodTransformer extends AbstractAsyncMethodTransformer {
                             case 0: 
                                 break;
                             case 1: 
-                                newInstructions.add(new InsnNode(SWAP));
+                                if (args[0].getSize() == 2) {
+                                    // yield(long) / yield(double)
+                                    newInstructions.add(new InsnNode(DUP_X2));
+                                    newInstructions.add(new InsnNode(POP));
+                                } else {
+                                    newInstructions.add(new InsnNode(SWAP));
+                                }
                                 break;
                             default:
                                 throw new IllegalStateException("Can't support YIELD method with more than one argument");
@@ -322,7 +372,7 @@ class AsyncGeneratorMethodTransformer extends AbstractAsyncMethodTransformer {
                     }
                     newInstructions.add(
                         new MethodInsnNode(INVOKEVIRTUAL, 
-                                           ASYNC_GENERATOR_METHOD_TYPE.getInternalName(), 
+                                           generatorMethodType.getInternalName(), 
                                            "emit", 
                                            Type.getMethodDescriptor(Type.getReturnType(min.desc), args), 
                                            false
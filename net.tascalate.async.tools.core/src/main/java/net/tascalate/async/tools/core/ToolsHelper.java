@@ -26,19 +26,25 @@ package net.tascalate.async.tools.core;
 
 import static java.lang.Thread.currentThread;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.Comparator;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -109,6 +115,47 @@ public class ToolsHelper {
         }
     }
 
+    /**
+     * Writes the index of all SchedulerResolver services visible on the class path into the output directory,
+     * so the runtime may instantiate them without ServiceLoader scanning. The class path must be the complete 
+     * runtime class path of the application: the runtime ignores the index when it misses any service
+     * declared via META-INF/services.
+     * @param outputDirectory the classes output directory
+     * @param classPath the runtime class path
+     * @param info logger
+     * @return true if the index was written, false if there are no resolvers
+     * @throws IOException if index can't be read or written
+     */
+    public static boolean writeSchedulerResolversIndex(Path outputDirectory, List<URL> classPath, Consumer<String> info) 
+                                                       throws IOException {
+        Set<String> resolverClassNames = new LinkedHashSet<>();
+        // Bootstrap class loader as a parent, so resources of the build tool are not picked up
+        try (URLClassLoader classLoader = new URLClassLoader(classPath.toArray(new URL[classPath.size()]), null)) {
+            Enumeration<URL> serviceFiles = classLoader.getResources(SCHEDULER_RESOLVER_SERVICES);
+            while (serviceFiles.hasMoreElements()) {
+                URL serviceFile = serviceFiles.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(serviceFile.openStream(), StandardCharsets.UTF_8))) {
+                    for (String line; (line = reader.readLine()) != null;) {
+                        int commentIdx = line.indexOf('#');
+                        String className = (commentIdx < 0 ? line : line.substring(0, commentIdx)).trim();
+                        if (!className.isEmpty()) {
+                            resolverClassNames.add(className);
+                        }
+                    }
+                }
+            }
+        }
+        Path indexFile = outputDirectory.resolve(SCHEDULER_RESOLVERS_INDEX);
+        if (resolverClassNames.isEmpty()) {
+            Files.deleteIfExists(indexFile);
+            return false;
+        }
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, resolverClassNames, StandardCharsets.UTF_8);
+        info.accept("Written index of " + resolverClassNames.size() + " scheduler resolver(s): " + indexFile);
+        return true;
+    }
+
     private static boolean rewriteClassFile(AsyncAwaitClassFileGenerator generator, Path source, Path target, Map<String, List<String>> nestRequests)
                                             throws IOException {
         
@@ -162,6 +209,9 @@ public class ToolsHelper {
         }
     }
     
+    private static final String SCHEDULER_RESOLVER_SERVICES = "META-INF/services/net.tascalate.async.spi.SchedulerResolver";
+    private static final String SCHEDULER_RESOLVERS_INDEX   = "META-INF/net.tascalate.async/scheduler-resolvers.idx";
+    
     private static final PathMatcher CLASS_MATHCER = FileSystems.getDefault().getPathMatcher("glob:*.class");
     
     private static final Predicate<Path> IS_CLASS_FILE = f ->
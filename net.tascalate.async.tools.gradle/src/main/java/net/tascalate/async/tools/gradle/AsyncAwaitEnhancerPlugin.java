@@ -74,6 +74,9 @@ import net.tascalate.async.tools.core.ToolsHelper;
  *     // includeTestClasses = false 
  * }
  * 
+ * // For the final application only: index SchedulerResolver services on the runtime classpath
+ * // extensions.getByName("async-await").indexSchedulerResolvers = true
+ * 
  * repositories {
  *     mavenCentral()
  * }
@@ -137,6 +140,21 @@ public class AsyncAwaitEnhancerPlugin  implements Plugin<Project> {
                         */
                         Set<File> compileClasspath = sourceSet.getCompileClasspath().getFiles();
                         instrument(classesDirs, compileClasspath, config);
+                        
+                        if ("main".equals(sourceType) && config.isIndexSchedulerResolvers()) {
+                            // Resolvers are typically runtime-only dependencies
+                            Set<File> runtimeClasspath = sourceSet.getRuntimeClasspath().getFiles();
+                            List<URL> classPath = new ArrayList<URL>();
+                            classPath.addAll(urlsOf(classesDirs));
+                            classPath.addAll(urlsOf(runtimeClasspath));
+                            for (File outputDir : classesDirs) {
+                                if (outputDir.isDirectory()) {
+                                    ToolsHelper.writeSchedulerResolversIndex(outputDir.toPath(), classPath, log::info);
+                                    // Single index is enough, it's looked up as a resource
+                                    break;
+                                }
+                            }
+                        }
                     }
                 } catch (Exception e) {
                     log.log(LogLevel.ERROR, "Coroutines instrumentation failed", e);
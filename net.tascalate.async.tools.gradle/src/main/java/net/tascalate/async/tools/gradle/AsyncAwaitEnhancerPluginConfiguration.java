@@ -27,6 +27,7 @@ package net.tascalate.async.tools.gradle;
 public class AsyncAwaitEnhancerPluginConfiguration {
     private boolean skip = false;
     private boolean includeTestClasses = true;
+    private boolean indexSchedulerResolvers = false;
     
     public boolean isSkip() {
         return skip;
@@ -40,4 +41,10 @@ public class AsyncAwaitEnhancerPluginConfiguration {
     public void setIncludeTestClasses(boolean includeTestClasses) {
         this.includeTestClasses = includeTestClasses;
     }
+    public boolean isIndexSchedulerResolvers() {
+        return indexSchedulerResolvers;
+    }
+    public void setIndexSchedulerResolvers(boolean indexSchedulerResolvers) {
+        this.indexSchedulerResolvers = indexSchedulerResolvers;
+    }
 }
@@ -60,6 +60,7 @@ import net.tascalate.async.tools.core.ToolsHelper;
  *       &lt;includeTestClasses&gt;false&lt;/includeTestClasses&gt;
  *       &lt;buildDir&gt;bin/classes&lt;/buildDir&gt;
  *       &lt;testBuildDir&gt;bin/test-classes&lt;/testBuildDir&gt;
+ *       &lt;indexSchedulerResolvers&gt;false&lt;/indexSchedulerResolvers&gt;
  *   &lt;/configuration&gt;
  * </pre>
  * 
@@ -99,6 +100,15 @@ public class AsyncAwaitEnhancerMojo extends AbstractMojo {
     @Parameter(property = "tascalate-async.enhancer.testBuildDir", required = false)
     private String testBuildDir;
     
+    /**
+     * Whether or not to write the index of SchedulerResolver services found on the runtime 
+     * classpath into the main build directory. The runtime uses the index instead of 
+     * ServiceLoader scanning, so it should be enabled only for the final application 
+     * module (war, executable jar), not for libraries.
+     */
+    @Parameter(defaultValue = "false", property = "tascalate-async.enhancer.indexSchedulerResolvers", required = false)
+    private boolean indexSchedulerResolvers;
+    
     @Component
     private MojoExecution execution;
 
@@ -120,6 +130,11 @@ public class AsyncAwaitEnhancerMojo extends AbstractMojo {
                 cp.addAll(project.getRuntimeClasspathElements());  
 
                 instrument(mainInputDirectory, cp); 
+                if (indexSchedulerResolvers) {
+                    ToolsHelper.writeSchedulerResolversIndex(
+                        mainInputDirectory.toPath(), classPathOf(mainInputDirectory, project.getRuntimeClasspathElements()), log::info
+                    );
+                }
             } else {
                 log.warn("No main build output directory available, skip enhancing main classes");
             }
@@ -142,15 +157,18 @@ public class AsyncAwaitEnhancerMojo extends AbstractMojo {
     
     private void instrument(File inputDirectory, Collection<String> classPathEntries) throws IOException {
         Log log = getLog();
+        ToolsHelper.transformFiles(inputDirectory, 
+                                   ToolsHelper.createGenerator(classPathOf(inputDirectory, classPathEntries)), 
+                                   log::debug, log::info);
+    }
+    
+    private List<URL> classPathOf(File inputDirectory, Collection<String> classPathEntries) {
         List<URL> classPath = new ArrayList<URL>();
         for (String classPathEntry : classPathEntries) {
             classPath.add(resolveUrl(new File(classPathEntry)));
         }
         classPath.add(resolveUrl(inputDirectory));
-
-        ToolsHelper.transformFiles(inputDirectory, 
-                                   ToolsHelper.createGenerator(classPath), 
-                                   log::debug, log::info);
+        return classPath;
     }
 
     private File computeDir(String dir) {
@@ -185,5 +203,9 @@ public class AsyncAwaitEnhancerMojo extends AbstractMojo {
     public String getTestBuildDir() {
         return testBuildDir;
     }
+    
+    public boolean isIndexSchedulerResolvers() {
+        return indexSchedulerResolvers;
+    }
 
 }